@@ -0,0 +1,196 @@
+package com.waseemh.webdriver.assertions;
+
+import java.util.Locale;
+
+/**
+ * Record of a single assertion, written by {@link AssertionLog} as one JSON line.
+ * @author Waseem Hamshawi
+ *
+ */
+public class AssertionEvent {
+
+	/**
+	 * Assertion outcome.
+	 */
+	public enum Outcome {
+		PASSED,FAILED,ERROR;
+	}
+
+	private final long timestamp;
+
+	private final String thread;
+
+	private final String method;
+
+	private final String locator;
+
+	private final String expected;
+
+	private final String actual;
+
+	private final Outcome outcome;
+
+	private final String message;
+
+	private final long durationMicros;
+
+	private final long commands;
+
+	AssertionEvent(long timestamp, String thread, String method, String locator, String expected, String actual,
+			Outcome outcome, String message, long durationMicros, long commands) {
+		this.timestamp = timestamp;
+		this.thread = thread;
+		this.method = method;
+		this.locator = locator;
+		this.expected = expected;
+		this.actual = actual;
+		this.outcome = outcome;
+		this.message = message;
+		this.durationMicros = durationMicros;
+		this.commands = commands;
+	}
+
+	/**
+	 * Return time assertion started (epoch milliseconds).
+	 * @return timestamp
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Return name of thread running assertion.
+	 * @return thread name
+	 */
+	public String getThread() {
+		return thread;
+	}
+
+	/**
+	 * Return name of assertion method (e.g. "assertTitleEquals").
+	 * @return method name
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Return locator, element or URL assertion was applied to, or null.
+	 * @return locator
+	 */
+	public String getLocator() {
+		return locator;
+	}
+
+	/**
+	 * Return expected value of last (or failing) check, or null.
+	 * @return expected value
+	 */
+	public String getExpected() {
+		return expected;
+	}
+
+	/**
+	 * Return actual value of last (or failing) check, or null.
+	 * @return actual value
+	 */
+	public String getActual() {
+		return actual;
+	}
+
+	/**
+	 * Return assertion outcome.
+	 * @return outcome
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * Return failure or error message, or null if assertion passed.
+	 * @return message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Return assertion duration in microseconds.
+	 * @return duration
+	 */
+	public long getDurationMicros() {
+		return durationMicros;
+	}
+
+	/**
+	 * Return number of driver commands issued by assertion.
+	 * Commands are only counted for drivers wrapped by {@link AssertionLog#countCommands(org.openqa.selenium.WebDriver)}.
+	 * @return command count
+	 */
+	public long getCommands() {
+		return commands;
+	}
+
+	/**
+	 * Return event as single line JSON object.
+	 * @return json
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder(256);
+		json.append("{\"timestamp\":").append(timestamp);
+		json.append(",\"thread\":");
+		appendString(json, thread);
+		json.append(",\"method\":");
+		appendString(json, method);
+		json.append(",\"locator\":");
+		appendString(json, locator);
+		json.append(",\"expected\":");
+		appendString(json, expected);
+		json.append(",\"actual\":");
+		appendString(json, actual);
+		json.append(",\"outcome\":\"").append(outcome.name().toLowerCase(Locale.ENGLISH)).append('"');
+		json.append(",\"message\":");
+		appendString(json, message);
+		json.append(",\"durationMicros\":").append(durationMicros);
+		json.append(",\"commands\":").append(commands);
+		return json.append('}').toString();
+	}
+
+	@Override
+	public String toString() {
+		return toJson();
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		if(value == null) {
+			json.append("null");
+			return;
+		}
+		json.append('"');
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch(c) {
+			case '"':
+				json.append("\\\"");
+				break;
+			case '\\':
+				json.append("\\\\");
+				break;
+			case '\n':
+				json.append("\\n");
+				break;
+			case '\r':
+				json.append("\\r");
+				break;
+			case '\t':
+				json.append("\\t");
+				break;
+			default:
+				if(c < 0x20)
+					json.append(String.format("\\u%04x", (int) c));
+				else json.append(c);
+			}
+		}
+		json.append('"');
+	}
+}
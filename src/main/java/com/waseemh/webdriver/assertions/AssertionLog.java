@@ -0,0 +1,287 @@
+package com.waseemh.webdriver.assertions;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Opt-in structured log of assertions made through {@link WebDriverAssert}.
+ * Every assertion is recorded as an {@link AssertionEvent} into a lock-free {@link RingBuffer},
+ * which is drained by a background thread into rotating JSON lines files.
+ * Asserting threads never block on disk: if the writer falls behind by more than buffer capacity,
+ * the oldest events are dropped and counted.
+ * <pre>
+ * AssertionLog.start(new File("target/assertions"));
+ * WebDriver driver = AssertionLog.countCommands(new FirefoxDriver());
+ * ...
+ * AssertionLog.stop();
+ * </pre>
+ * @author Waseem Hamshawi
+ *
+ */
+public class AssertionLog {
+
+	/**
+	 * Default number of events buffered between assertions and writer thread.
+	 */
+	public static final int DEFAULT_CAPACITY = 65536;
+
+	/**
+	 * Default size of a log file before rotating to next file (64MB).
+	 */
+	public static final long DEFAULT_MAX_FILE_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * Default number of log files kept, older files are deleted.
+	 */
+	public static final int DEFAULT_MAX_FILES = 10;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private static volatile AssertionLog active;
+
+	private static final ThreadLocal<AssertionScope> scopes = new ThreadLocal<AssertionScope>() {
+		@Override
+		protected AssertionScope initialValue() {
+			return new AssertionScope();
+		}
+	};
+
+	private final RingBuffer<AssertionEvent> events;
+
+	private final File directory;
+
+	private final String filePrefix;
+
+	private final long maxFileBytes;
+
+	private final int maxFiles;
+
+	private final LinkedList<File> files = new LinkedList<File>();
+
+	private final Thread writerThread;
+
+	private volatile boolean running = true;
+
+	private volatile long writtenEvents;
+
+	private volatile long droppedEvents;
+
+	private final AtomicLong lateEvents = new AtomicLong();
+
+	private final AtomicInteger recordingThreads = new AtomicInteger();
+
+	private volatile IOException writeError;
+
+	private Writer writer;
+
+	private long fileBytes;
+
+	private int fileCount;
+
+	private AssertionLog(File directory, int capacity, long maxFileBytes, int maxFiles) {
+		this.events = new RingBuffer<AssertionEvent>(capacity);
+		this.directory = directory;
+		this.filePrefix = "assertions-" + System.currentTimeMillis() + "-";
+		this.maxFileBytes = maxFileBytes;
+		this.maxFiles = maxFiles;
+		this.writerThread = new Thread(new Runnable() {
+			public void run() {
+				drain();
+			}
+		}, "assertion-log-writer");
+		this.writerThread.setDaemon(true);
+	}
+
+	/**
+	 * Start logging assertions into given directory, using default buffer and rotation settings.
+	 * @param directory
+	 * @return started log
+	 * @throws IOException
+	 */
+	public static AssertionLog start(File directory) throws IOException {
+		return start(directory, DEFAULT_CAPACITY, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+	}
+
+	/**
+	 * Start logging assertions into given directory. Previously started log is stopped.
+	 * @param directory
+	 * @param capacity number of buffered events
+	 * @param maxFileBytes approximate size of a log file before rotating
+	 * @param maxFiles number of log files kept
+	 * @return started log
+	 * @throws IOException
+	 */
+	public static synchronized AssertionLog start(File directory, int capacity, long maxFileBytes, int maxFiles) throws IOException {
+		if(maxFileBytes <= 0 || maxFiles <= 0)
+			throw new IllegalArgumentException("Invalid log rotation settings: " + maxFileBytes + " bytes, " + maxFiles + " files");
+		if(!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Cannot create log directory: " + directory);
+
+		AssertionLog log = new AssertionLog(directory, capacity, maxFileBytes, maxFiles); //validates capacity
+		stop();
+		log.rotate();
+		log.writerThread.start();
+		active = log;
+		return log;
+	}
+
+	/**
+	 * Stop logging assertions. Buffered events are written before returning.
+	 * @throws IOException if writing log failed
+	 */
+	public static synchronized void stop() throws IOException {
+		AssertionLog log = active;
+		if(log == null)
+			return;
+		active = null;
+		log.running = false;
+		LockSupport.unpark(log.writerThread);
+		try {
+			log.writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if(log.writeError != null)
+			throw log.writeError;
+	}
+
+	/**
+	 * Return whether assertions are currently logged.
+	 * @return true if logging
+	 */
+	public static boolean isEnabled() {
+		return active != null;
+	}
+
+	/**
+	 * Wrap driver so that commands issued by assertions are counted in logged events.
+	 * Elements found through the returned driver are wrapped as well.
+	 * @param driver
+	 * @return counting driver
+	 */
+	public static WebDriver countCommands(WebDriver driver) {
+		return (WebDriver) CommandCountingHandler.wrap(driver);
+	}
+
+	/**
+	 * Return number of events written to log files.
+	 * @return written events
+	 */
+	public long getWrittenEvents() {
+		return writtenEvents;
+	}
+
+	/**
+	 * Return number of events dropped because writer thread fell behind,
+	 * or because assertion completed after log was stopped.
+	 * @return dropped events
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents + lateEvents.get();
+	}
+
+	/**
+	 * Return log files currently kept, oldest first.
+	 * @return list of files
+	 */
+	public synchronized List<File> getFiles() {
+		return new ArrayList<File>(files);
+	}
+
+	static AssertionScope enter(String method, Object target) {
+		AssertionLog log = active;
+		if(log == null)
+			return AssertionScope.DISABLED;
+		AssertionScope scope = scopes.get();
+		scope.enter(log, method, target);
+		return scope;
+	}
+
+	static AssertionScope currentScope() {
+		return active == null ? AssertionScope.DISABLED : scopes.get();
+	}
+
+	static void commandIssued() {
+		if(active != null)
+			scopes.get().commandIssued();
+	}
+
+	void record(AssertionEvent event) {
+		recordingThreads.incrementAndGet();
+		try {
+			if(running)
+				events.add(event);
+			else lateEvents.incrementAndGet();
+		} finally {
+			recordingThreads.decrementAndGet();
+		}
+	}
+
+	private void drain() {
+		List<AssertionEvent> batch = new ArrayList<AssertionEvent>();
+		long sequence = 0;
+		try {
+			while(true) {
+				//once stopped, no new events are added after recording threads are done
+				boolean stopping = !running && recordingThreads.get() == 0;
+				long next = events.drainTo(sequence, batch);
+				droppedEvents += next - sequence - batch.size();
+				sequence = next;
+
+				if(batch.isEmpty()) {
+					writer.flush();
+					if(stopping && sequence == events.getSequence())
+						break;
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+					continue;
+				}
+
+				for(AssertionEvent event : batch) {
+					String line = event.toJson();
+					writer.write(line);
+					writer.write('\n');
+					fileBytes += line.length() + 1;
+					if(fileBytes >= maxFileBytes)
+						rotate();
+				}
+				writtenEvents += batch.size();
+				batch.clear();
+			}
+		} catch (IOException e) {
+			writeError = e;
+		} finally {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				if(writeError == null)
+					writeError = e;
+			}
+		}
+	}
+
+	private synchronized void rotate() throws IOException {
+		if(writer != null)
+			writer.close();
+		File file = new File(directory, filePrefix + (++fileCount) + ".jsonl");
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), 65536);
+		fileBytes = 0;
+		files.add(file);
+		while(files.size() > maxFiles) {
+			files.removeFirst().delete();
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.waseemh.webdriver.assertions;
+
+import java.util.Arrays;
+
+import com.waseemh.webdriver.assertions.AssertionEvent.Outcome;
+
+/**
+ * Per-thread state of the assertion currently running, reused between assertions.
+ * Nested assertions (e.g. assertCheckboxChecked calling assertCheckbox) are folded into the outermost one.
+ * @author Waseem Hamshawi
+ *
+ */
+final class AssertionScope {
+
+	/**
+	 * Scope used while logging is disabled, all operations are no-ops.
+	 */
+	static final AssertionScope DISABLED = new AssertionScope();
+
+	private static final int MAX_VALUE_LENGTH = 1024;
+
+	private int depth;
+
+	private AssertionLog log;
+
+	private long timestamp;
+
+	private long startNanos;
+
+	private long startCommands;
+
+	private long commands;
+
+	private String method;
+
+	private String locator;
+
+	private String expected;
+
+	private String actual;
+
+	private Outcome outcome;
+
+	private String message;
+
+	private boolean operands;
+
+	void enter(AssertionLog log, String method, Object target) {
+		if(depth++ > 0)
+			return;
+		this.log = log;
+		this.method = method;
+		this.locator = target == null ? null : truncate(String.valueOf(target));
+		this.expected = null;
+		this.actual = null;
+		this.outcome = Outcome.PASSED;
+		this.message = null;
+		this.operands = false;
+		this.timestamp = System.currentTimeMillis();
+		this.startCommands = commands;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Record values compared by a check, unless an earlier check already failed.
+	 */
+	void check(Object expectedValue, Object actualValue) {
+		if(depth == 0 || outcome != Outcome.PASSED)
+			return;
+		expected = format(expectedValue);
+		actual = format(actualValue);
+		operands = false;
+	}
+
+	/**
+	 * Record values behind the next boolean check (e.g. expected and actual text of a contains check).
+	 */
+	void operands(Object expectedValue, Object actualValue) {
+		check(expectedValue, actualValue);
+		operands = depth > 0;
+	}
+
+	/**
+	 * Record boolean check, keeping operands recorded for it, if any.
+	 */
+	void check(boolean condition) {
+		if(operands)
+			operands = false;
+		else check(Boolean.TRUE, condition);
+	}
+
+	void fail(AssertionError error) {
+		if(depth == 0 || outcome != Outcome.PASSED)
+			return;
+		outcome = Outcome.FAILED;
+		message = error.getMessage();
+	}
+
+	/**
+	 * Record unexpected exception (e.g. element not found by driver) and return it for rethrowing.
+	 */
+	RuntimeException error(RuntimeException exception) {
+		if(depth > 0 && outcome == Outcome.PASSED) {
+			outcome = Outcome.ERROR;
+			message = truncate(exception.toString());
+		}
+		return exception;
+	}
+
+	void commandIssued() {
+		commands++;
+	}
+
+	void exit() {
+		if(depth == 0 || --depth > 0)
+			return;
+		long duration = (System.nanoTime() - startNanos) / 1000;
+		log.record(new AssertionEvent(timestamp, Thread.currentThread().getName(), method, locator,
+				expected, actual, outcome, message, duration, commands - startCommands));
+		log = null;
+	}
+
+	private static String format(Object value) {
+		if(value instanceof Object[])
+			return truncate(Arrays.deepToString((Object[]) value));
+		return value == null ? null : truncate(String.valueOf(value));
+	}
+
+	private static String truncate(String value) {
+		return value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value;
+	}
+}
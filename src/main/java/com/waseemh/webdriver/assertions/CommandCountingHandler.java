@@ -0,0 +1,129 @@
+package com.waseemh.webdriver.assertions;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+
+/**
+ * Dynamic proxy counting driver and element commands for {@link AssertionLog}.
+ * Objects returned by the driver (elements, options, navigation, target locator, alerts) are wrapped as well.
+ * Accessors of helper objects (manage, navigate, switchTo, window) are not counted as commands themselves,
+ * every other call is counted, including calls failing with an exception (e.g. element not found).
+ * @author Waseem Hamshawi
+ *
+ */
+final class CommandCountingHandler implements InvocationHandler {
+
+	private static final Set<String> ACCESSORS = new HashSet<String>(Arrays.asList("manage", "navigate", "switchTo", "window"));
+
+	private final Object target;
+
+	private CommandCountingHandler(Object target) {
+		this.target = target;
+	}
+
+	static Object wrap(Object target) {
+		if(target == null || Proxy.isProxyClass(target.getClass()) && Proxy.getInvocationHandler(target) instanceof CommandCountingHandler)
+			return target;
+
+		Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+		for(Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+			collectInterfaces(type, interfaces);
+		}
+		if(target instanceof WebElement)
+			interfaces.add(WrapsElement.class);
+
+		ClassLoader loader = target.getClass().getClassLoader();
+		return Proxy.newProxyInstance(loader == null ? CommandCountingHandler.class.getClassLoader() : loader,
+				interfaces.toArray(new Class<?>[interfaces.size()]), new CommandCountingHandler(target));
+	}
+
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if(method.getDeclaringClass() == Object.class) {
+			if(method.getName().equals("equals"))
+				return target.equals(unwrap(args[0]));
+			return invokeTarget(method, args);
+		}
+		if(method.getDeclaringClass() == WrapsElement.class)
+			return target;
+
+		if(!ACCESSORS.contains(method.getName()))
+			AssertionLog.commandIssued();
+
+		Object result = invokeTarget(method, unwrapArguments(args));
+
+		if(result instanceof WebElement || result instanceof WebDriver || isSeleniumInterface(method.getReturnType()))
+			return wrap(result);
+		if(result instanceof List && method.getReturnType() == List.class)
+			return wrapElements((List<?>) result);
+		return result;
+	}
+
+	private Object invokeTarget(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static boolean isSeleniumInterface(Class<?> type) {
+		return type.isInterface() && type.getName().startsWith("org.openqa.selenium.");
+	}
+
+	private static List<Object> wrapElements(List<?> values) {
+		List<Object> wrapped = new ArrayList<Object>(values.size());
+		for(Object value : values) {
+			wrapped.add(value instanceof WebElement ? wrap(value) : value);
+		}
+		return wrapped;
+	}
+
+	private static Object[] unwrapArguments(Object[] args) {
+		if(args == null)
+			return null;
+		Object[] unwrapped = new Object[args.length];
+		for(int i = 0; i < args.length; i++) {
+			if(args[i] instanceof Object[]) { //varargs of executeScript
+				Object[] values = (Object[]) args[i];
+				Object[] unwrappedValues = (Object[]) Array.newInstance(values.getClass().getComponentType(), values.length);
+				for(int j = 0; j < values.length; j++) {
+					unwrappedValues[j] = unwrap(values[j]);
+				}
+				unwrapped[i] = unwrappedValues;
+			}
+			else unwrapped[i] = unwrap(args[i]);
+		}
+		return unwrapped;
+	}
+
+	private static Object unwrap(Object value) {
+		if(value != null && Proxy.isProxyClass(value.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(value);
+			if(handler instanceof CommandCountingHandler)
+				return ((CommandCountingHandler) handler).target;
+		}
+		return value;
+	}
+
+	private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+		for(Class<?> implemented : type.getInterfaces()) {
+			if(Modifier.isPublic(implemented.getModifiers())) //proxies can only implement public interfaces
+				interfaces.add(implemented);
+			collectInterfaces(implemented, interfaces);
+		}
+	}
+}
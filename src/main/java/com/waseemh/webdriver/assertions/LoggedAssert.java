@@ -0,0 +1,81 @@
+package com.waseemh.webdriver.assertions;
+
+import org.junit.Assert;
+
+/**
+ * JUnit checks recording compared values into the current {@link AssertionScope}.
+ * Failure messages are produced by JUnit and are identical to calling {@link Assert} directly.
+ * @author Waseem Hamshawi
+ *
+ */
+final class LoggedAssert {
+
+	private LoggedAssert() {
+	}
+
+	static void assertEquals(Object expected, Object actual) {
+		assertEquals(null, expected, actual);
+	}
+
+	static void assertEquals(String message, Object expected, Object actual) {
+		AssertionScope scope = AssertionLog.currentScope();
+		scope.check(expected, actual);
+		try {
+			Assert.assertEquals(message, expected, actual);
+		} catch (AssertionError e) {
+			scope.fail(e);
+			throw e;
+		}
+	}
+
+	static void assertArrayEquals(Object[] expecteds, Object[] actuals) {
+		AssertionScope scope = AssertionLog.currentScope();
+		scope.check(expecteds, actuals);
+		try {
+			Assert.assertArrayEquals(expecteds, actuals);
+		} catch (AssertionError e) {
+			scope.fail(e);
+			throw e;
+		}
+	}
+
+	static void assertTrue(boolean condition) {
+		assertTrue(null, condition);
+	}
+
+	static void assertTrue(String message, boolean condition) {
+		AssertionScope scope = AssertionLog.currentScope();
+		scope.check(condition);
+		try {
+			Assert.assertTrue(message, condition);
+		} catch (AssertionError e) {
+			scope.fail(e);
+			throw e;
+		}
+	}
+
+	static void assertNotNull(Object object) {
+		assertNotNull(null, object);
+	}
+
+	static void assertNotNull(String message, Object object) {
+		AssertionScope scope = AssertionLog.currentScope();
+		scope.check("not null", object);
+		try {
+			Assert.assertNotNull(message, object);
+		} catch (AssertionError e) {
+			scope.fail(e);
+			throw e;
+		}
+	}
+
+	static void fail(String message) {
+		AssertionScope scope = AssertionLog.currentScope();
+		try {
+			Assert.fail(message);
+		} catch (AssertionError e) {
+			scope.fail(e);
+			throw e;
+		}
+	}
+}
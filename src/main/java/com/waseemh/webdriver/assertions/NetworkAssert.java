@@ -0,0 +1,166 @@
+package com.waseemh.webdriver.assertions;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Network level assertions over traffic recorded by {@link RecordingProxy}.
+ * Tunneled (HTTPS) exchanges are opaque and therefore ignored by content related assertions,
+ * which fail if no plain HTTP exchange could be inspected.
+ * @author Waseem Hamshawi
+ *
+ */
+public class NetworkAssert {
+
+	/**
+	 * private constructor (static class)
+	 */
+	private NetworkAssert() {
+	}
+
+	/**
+	 * Assert that no recorded request got a client or server error response (4xx/5xx).
+	 * Fails if no plain HTTP exchange was recorded.
+	 * @param proxy
+	 */
+	static public void assertNoErrorResponses(RecordingProxy proxy) {
+		List<String> failures = new ArrayList<String>();
+		int inspected = 0;
+
+		for(RecordedExchange exchange : proxy.getExchanges()) {
+			if(!exchange.isTunnel())
+				inspected++;
+			if(exchange.getStatus() >= 400) {
+				failures.add(exchange.getStatus() + " " + exchange.getUrl());
+			}
+		}
+
+		if(inspected == 0)
+			fail("No plain HTTP responses recorded by proxy (tunneled HTTPS responses cannot be inspected).");
+		assertTrue("Error responses found: " + failures, failures.isEmpty());
+	}
+
+	/**
+	 * Assert that all JavaScript responses are compressed using gzip or brotli.
+	 * Scripts are detected by content type, or by ".js" extension if content type is missing.
+	 * Fails if no plain HTTP script response was recorded.
+	 * @param proxy
+	 */
+	static public void assertScriptsCompressed(RecordingProxy proxy) {
+		List<String> failures = new ArrayList<String>();
+		int inspected = 0;
+
+		for(RecordedExchange exchange : proxy.getExchanges()) {
+			if(exchange.isTunnel() || exchange.getStatus() != 200 || exchange.getResponseBytes() == 0 || !isScript(exchange))
+				continue;
+			inspected++;
+			String encoding = exchange.getResponseHeader("content-encoding");
+			encoding = encoding == null ? "" : encoding.toLowerCase(Locale.ENGLISH);
+			if(!encoding.contains("gzip") && !encoding.contains("br")) {
+				failures.add(exchange.getUrl());
+			}
+		}
+
+		if(inspected == 0)
+			fail("No plain HTTP script responses recorded by proxy.");
+		assertTrue("Scripts are not compressed (gzip/br): " + failures, failures.isEmpty());
+	}
+
+	/**
+	 * Assert that cacheable assets (scripts, stylesheets, images and fonts) are served with
+	 * a positive max-age (or s-maxage) Cache-Control directive.
+	 * Fails if no plain HTTP asset response was recorded.
+	 * @param proxy
+	 */
+	static public void assertCacheableAssetsHaveMaxAge(RecordingProxy proxy) {
+		List<String> failures = new ArrayList<String>();
+		int inspected = 0;
+
+		for(RecordedExchange exchange : proxy.getExchanges()) {
+			if(exchange.isTunnel() || exchange.getStatus() != 200 || !"GET".equals(exchange.getMethod()) || !isCacheableAsset(exchange))
+				continue;
+			inspected++;
+			if(!hasMaxAge(exchange.getResponseHeader("cache-control"))) {
+				failures.add(exchange.getUrl());
+			}
+		}
+
+		if(inspected == 0)
+			fail("No plain HTTP asset responses (scripts, stylesheets, images, fonts) recorded by proxy.");
+		assertTrue("Cacheable assets without max-age: " + failures, failures.isEmpty());
+	}
+
+	/**
+	 * Assert that given percentile of server time (time to first byte) is less than expected time.
+	 * Time is in milliseconds, percentile is computed using nearest-rank method.
+	 * For example, use percentile 95 to assert p95 server time.
+	 * @param proxy
+	 * @param percentile
+	 * @param msTime
+	 */
+	static public void assertServerTimeLessThan(RecordingProxy proxy, double percentile, int msTime) {
+		if(percentile <= 0 || percentile > 100)
+			throw new IllegalArgumentException("Percentile must be in range (0,100]: " + percentile);
+
+		List<Long> times = new ArrayList<Long>();
+		for(RecordedExchange exchange : proxy.getExchanges()) {
+			if(exchange.getServerTime() >= 0) {
+				times.add(exchange.getServerTime());
+			}
+		}
+		if(times.isEmpty())
+			fail("No plain HTTP responses recorded by proxy (tunneled HTTPS and failed requests have no server time).");
+
+		Collections.sort(times);
+		int rank = (int) Math.ceil(percentile / 100 * times.size());
+		long actual = times.get(Math.max(rank, 1) - 1);
+
+		assertTrue("Server time percentile " + percentile + " is " + actual + "ms (Greater than " + msTime + ")", msTime > actual);
+	}
+
+	private static boolean isScript(RecordedExchange exchange) {
+		String contentType = exchange.getContentType();
+		if(contentType.isEmpty())
+			return path(exchange).endsWith(".js");
+		return contentType.contains("javascript") || contentType.contains("ecmascript");
+	}
+
+	private static boolean isCacheableAsset(RecordedExchange exchange) {
+		String contentType = exchange.getContentType();
+		return isScript(exchange)
+				|| contentType.equals("text/css")
+				|| contentType.startsWith("image/")
+				|| contentType.startsWith("font/")
+				|| contentType.startsWith("application/font")
+				|| contentType.contains("woff");
+	}
+
+	private static boolean hasMaxAge(String cacheControl) {
+		if(cacheControl == null)
+			return false;
+		boolean maxAge = false;
+		for(String directive : cacheControl.toLowerCase(Locale.ENGLISH).split(",")) {
+			directive = directive.trim();
+			if(directive.equals("no-store") || directive.equals("no-cache"))
+				return false;
+			if(directive.startsWith("max-age=") || directive.startsWith("s-maxage=")) {
+				try {
+					maxAge |= Long.parseLong(directive.substring(directive.indexOf('=') + 1).replace("\"", "")) > 0;
+				} catch (NumberFormatException e) {
+				}
+			}
+		}
+		return maxAge;
+	}
+
+	private static String path(RecordedExchange exchange) {
+		String url = exchange.getUrl();
+		int query = url.indexOf('?');
+		return query >= 0 ? url.substring(0, query) : url;
+	}
+}
@@ -0,0 +1,154 @@
+package com.waseemh.webdriver.assertions;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single HTTP request/response pair captured by {@link RecordingProxy}.
+ * Header names are stored in lower case.
+ * Tunneled (HTTPS) exchanges only record target host and timing, since their content is encrypted.
+ * @author Waseem Hamshawi
+ *
+ */
+public class RecordedExchange {
+
+	private final String method;
+
+	private final String url;
+
+	private final int status;
+
+	private final Map<String, String> responseHeaders;
+
+	private final long startTime;
+
+	private final long connectTime;
+
+	private final long serverTime;
+
+	private final long totalTime;
+
+	private final long responseBytes;
+
+	RecordedExchange(String method, String url, int status, Map<String, String> responseHeaders,
+			long startTime, long connectTime, long serverTime, long totalTime, long responseBytes) {
+		this.method = method;
+		this.url = url;
+		this.status = status;
+		this.responseHeaders = Collections.unmodifiableMap(responseHeaders);
+		this.startTime = startTime;
+		this.connectTime = connectTime;
+		this.serverTime = serverTime;
+		this.totalTime = totalTime;
+		this.responseBytes = responseBytes;
+	}
+
+	/**
+	 * Return HTTP method of request (CONNECT for tunneled exchanges).
+	 * @return method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Return requested URL (host:port for tunneled exchanges).
+	 * @return url
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Return HTTP status code of response, or -1 if no response was received.
+	 * @return status code
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Return response headers, keyed by lower case header name.
+	 * @return headers
+	 */
+	public Map<String, String> getResponseHeaders() {
+		return responseHeaders;
+	}
+
+	/**
+	 * Return value of response header, or null if header is missing.
+	 * @param name
+	 * @return header value
+	 */
+	public String getResponseHeader(String name) {
+		return responseHeaders.get(name.toLowerCase(Locale.ENGLISH));
+	}
+
+	/**
+	 * Return media type of response without parameters (e.g. "text/css"), or empty string.
+	 * @return content type
+	 */
+	public String getContentType() {
+		String contentType = getResponseHeader("content-type");
+		if(contentType == null)
+			return "";
+		int separator = contentType.indexOf(';');
+		if(separator >= 0)
+			contentType = contentType.substring(0, separator);
+		return contentType.trim().toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Return request time (epoch milliseconds).
+	 * @return start time
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Return time in milliseconds spent opening connection to server.
+	 * @return connect time
+	 */
+	public long getConnectTime() {
+		return connectTime;
+	}
+
+	/**
+	 * Return time in milliseconds between sending request to server and receiving first byte of response.
+	 * @return server time
+	 */
+	public long getServerTime() {
+		return serverTime;
+	}
+
+	/**
+	 * Return time in milliseconds from receiving request until response was fully relayed to browser.
+	 * @return total time
+	 */
+	public long getTotalTime() {
+		return totalTime;
+	}
+
+	/**
+	 * Return number of response body bytes relayed to browser.
+	 * @return response size
+	 */
+	public long getResponseBytes() {
+		return responseBytes;
+	}
+
+	/**
+	 * Return whether exchange is an opaque CONNECT tunnel.
+	 * @return true if tunneled
+	 */
+	public boolean isTunnel() {
+		return "CONNECT".equals(method);
+	}
+
+	@Override
+	public String toString() {
+		return method + " " + url + " -> " + status + " (" + serverTime + "ms server, " + totalTime + "ms total)";
+	}
+}
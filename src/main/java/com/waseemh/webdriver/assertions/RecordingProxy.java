@@ -0,0 +1,455 @@
+package com.waseemh.webdriver.assertions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+/**
+ * Embedded HTTP proxy recording every request made by the browser.
+ * Plain HTTP exchanges are recorded with status, response headers and timings.
+ * HTTPS traffic is tunneled as-is (CONNECT) and only recorded with target host and timing.
+ * Recorded exchanges are kept in a lock-free {@link RingBuffer}, so the oldest exchanges are
+ * dropped once capacity is reached.
+ * <p>
+ * The proxy must be started before the driver is created:
+ * <pre>
+ * RecordingProxy proxy = new RecordingProxy();
+ * proxy.start();
+ * DesiredCapabilities capabilities = DesiredCapabilities.firefox();
+ * proxy.applyTo(capabilities);
+ * WebDriver driver = new FirefoxDriver(capabilities);
+ * </pre>
+ * Note that browsers usually bypass proxies for localhost URLs.
+ * @author Waseem Hamshawi
+ *
+ */
+public class RecordingProxy {
+
+	/**
+	 * Default number of recorded exchanges kept by proxy.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private static final int SOCKET_TIMEOUT = 60000;
+
+	private static final int MAX_LINE_LENGTH = 65536;
+
+	private final RingBuffer<RecordedExchange> exchanges;
+
+	private ServerSocket serverSocket;
+
+	private ExecutorService executor;
+
+	/**
+	 * Create proxy keeping up to {@link #DEFAULT_CAPACITY} exchanges.
+	 */
+	public RecordingProxy() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create proxy keeping up to given number of exchanges.
+	 * @param capacity
+	 */
+	public RecordingProxy(int capacity) {
+		exchanges = new RingBuffer<RecordedExchange>(capacity);
+	}
+
+	/**
+	 * Start proxy on a free local port.
+	 * @throws IOException
+	 */
+	public void start() throws IOException {
+		start(0);
+	}
+
+	/**
+	 * Start proxy on given local port.
+	 * @param port
+	 * @throws IOException
+	 */
+	public synchronized void start(int port) throws IOException {
+		if(serverSocket != null)
+			throw new IllegalStateException("Proxy is already running.");
+
+		final ServerSocket server = new ServerSocket(port, 50, InetAddress.getByName("127.0.0.1"));
+		final ExecutorService pool = Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "recording-proxy-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		serverSocket = server;
+		executor = pool;
+		pool.execute(new Runnable() {
+			public void run() {
+				accept(server, pool);
+			}
+		});
+	}
+
+	/**
+	 * Stop proxy. Recorded exchanges remain available.
+	 */
+	public synchronized void stop() {
+		if(serverSocket == null)
+			return;
+		closeQuietly(serverSocket);
+		executor.shutdownNow();
+		serverSocket = null;
+		executor = null;
+	}
+
+	/**
+	 * Return local port proxy is listening on.
+	 * @return port
+	 */
+	public synchronized int getPort() {
+		if(serverSocket == null)
+			throw new IllegalStateException("Proxy is not running.");
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Return WebDriver proxy settings routing HTTP and HTTPS traffic through this proxy.
+	 * @return proxy settings
+	 */
+	public Proxy toSeleniumProxy() {
+		String address = "127.0.0.1:" + getPort();
+		return new Proxy().setHttpProxy(address).setSslProxy(address);
+	}
+
+	/**
+	 * Configure driver capabilities to route traffic through this proxy.
+	 * @param capabilities
+	 */
+	public void applyTo(DesiredCapabilities capabilities) {
+		capabilities.setCapability(CapabilityType.PROXY, toSeleniumProxy());
+	}
+
+	/**
+	 * Return recorded exchanges, oldest first.
+	 * @return list of exchanges
+	 */
+	public List<RecordedExchange> getExchanges() {
+		return exchanges.snapshot();
+	}
+
+	/**
+	 * Forget exchanges recorded so far (e.g. before loading next page).
+	 */
+	public void clear() {
+		exchanges.clear();
+	}
+
+	private void accept(ServerSocket server, final ExecutorService pool) {
+		while(!server.isClosed()) {
+			final Socket client;
+			try {
+				client = server.accept();
+			} catch (IOException e) { //server socket closed by stop()
+				return;
+			}
+			try {
+				pool.execute(new Runnable() {
+					public void run() {
+						handle(client, pool);
+					}
+				});
+			} catch (RejectedExecutionException e) { //executor shut down by stop()
+				closeQuietly(client);
+				return;
+			}
+		}
+	}
+
+	private void handle(Socket client, ExecutorService pool) {
+		try {
+			client.setSoTimeout(SOCKET_TIMEOUT);
+			InputStream in = new BufferedInputStream(client.getInputStream());
+			OutputStream out = new BufferedOutputStream(client.getOutputStream());
+
+			String requestLine = readLine(in);
+			if(requestLine == null || requestLine.isEmpty())
+				return;
+			String[] request = requestLine.split(" ");
+			List<String[]> headers = readHeaders(in);
+			if(request.length != 3) {
+				writeError(out, 400, "Bad Request");
+			}
+			else if("CONNECT".equalsIgnoreCase(request[0])) {
+				tunnel(client, in, out, request[1], pool);
+			}
+			else {
+				forward(in, out, request[0], request[1], request[2], headers);
+			}
+		} catch (IOException e) { //connection dropped by browser
+		} finally {
+			closeQuietly(client);
+		}
+	}
+
+	private void forward(InputStream in, OutputStream out, String method, String target, String version,
+			List<String[]> headers) throws IOException {
+
+		long start = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
+
+		URI uri;
+		try {
+			uri = new URI(target);
+		} catch (URISyntaxException e) {
+			uri = null;
+		}
+		if(uri == null || !"http".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null) {
+			writeError(out, 400, "Bad Request");
+			return;
+		}
+
+		long contentLength = 0;
+		for(String[] header : headers) {
+			if(header[0].equalsIgnoreCase("transfer-encoding")) {
+				writeError(out, 411, "Length Required"); //chunked request bodies are not supported
+				return;
+			}
+			if(header[0].equalsIgnoreCase("content-length")) {
+				try {
+					contentLength = Long.parseLong(header[1]);
+				} catch (NumberFormatException e) {
+					writeError(out, 400, "Bad Request");
+					return;
+				}
+			}
+		}
+
+		String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		if(uri.getRawQuery() != null)
+			path += "?" + uri.getRawQuery();
+
+		int status = -1;
+		long connectTime = -1;
+		long serverTime = -1;
+		long responseBytes = 0;
+		Map<String, String> responseHeaders = new LinkedHashMap<String, String>();
+		Socket server = new Socket();
+
+		try {
+			server.connect(new InetSocketAddress(uri.getHost(), uri.getPort() == -1 ? 80 : uri.getPort()), SOCKET_TIMEOUT);
+			server.setSoTimeout(SOCKET_TIMEOUT);
+			connectTime = elapsed(startNanos);
+
+			OutputStream serverOut = new BufferedOutputStream(server.getOutputStream());
+			StringBuilder head = new StringBuilder();
+			head.append(method).append(' ').append(path).append(' ').append(version).append("\r\n");
+			for(String[] header : headers) {
+				if(!isHopByHop(header[0]) && !header[0].equalsIgnoreCase("expect"))
+					head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+			}
+			head.append("Connection: close\r\n\r\n");
+			writeAscii(serverOut, head.toString());
+			copy(in, serverOut, contentLength);
+			serverOut.flush();
+
+			long sentNanos = System.nanoTime();
+			InputStream serverIn = new BufferedInputStream(server.getInputStream());
+			String statusLine = readLine(serverIn);
+			if(statusLine == null)
+				throw new EOFException("Server closed connection without response.");
+			serverTime = elapsed(sentNanos);
+			status = parseStatus(statusLine);
+
+			head.setLength(0);
+			head.append(statusLine).append("\r\n");
+			for(String[] header : readHeaders(serverIn)) {
+				String name = header[0].toLowerCase(Locale.ENGLISH);
+				String previous = responseHeaders.get(name);
+				responseHeaders.put(name, previous == null ? header[1] : previous + ", " + header[1]);
+				if(!isHopByHop(name))
+					head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+			}
+			head.append("Connection: close\r\n\r\n");
+			writeAscii(out, head.toString());
+			out.flush();
+
+			//relay body as it arrives, streamed responses (e.g. server-sent events) must not be held back
+			byte[] buffer = new byte[8192];
+			int read;
+			while((read = serverIn.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+				responseBytes += read;
+				if(serverIn.available() == 0)
+					out.flush();
+			}
+			out.flush();
+		} catch (IOException e) {
+			if(status != -1) //browser or server dropped connection during response
+				throw e;
+			status = 502;
+		} finally {
+			closeQuietly(server);
+			record(method, target, status, responseHeaders, start, connectTime, serverTime, startNanos, responseBytes);
+		}
+
+		if(status == 502 && serverTime == -1) //nothing relayed yet, report failure to browser
+			writeError(out, 502, "Bad Gateway");
+	}
+
+	private void record(String method, String url, int status, Map<String, String> responseHeaders,
+			long start, long connectTime, long serverTime, long startNanos, long responseBytes) {
+		exchanges.add(new RecordedExchange(method, url, status, responseHeaders,
+				start, connectTime, serverTime, elapsed(startNanos), responseBytes));
+	}
+
+	private void tunnel(Socket client, InputStream in, OutputStream out, String target, ExecutorService pool) throws IOException {
+
+		long start = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
+
+		int status = -1;
+		long connectTime = -1;
+		long responseBytes = 0;
+		Socket server = new Socket();
+
+		try {
+			int separator = target.lastIndexOf(':');
+			String host = separator > 0 ? target.substring(0, separator) : target;
+			int port = separator > 0 ? Integer.parseInt(target.substring(separator + 1)) : 443;
+
+			server.connect(new InetSocketAddress(host, port), SOCKET_TIMEOUT);
+			server.setSoTimeout(SOCKET_TIMEOUT);
+			connectTime = elapsed(startNanos);
+			status = 200;
+			writeAscii(out, "HTTP/1.1 200 Connection Established\r\n\r\n");
+			out.flush();
+
+			final InputStream serverIn = server.getInputStream();
+			final OutputStream clientOut = client.getOutputStream();
+			final Socket browser = client;
+			Future<Long> downstream = pool.submit(new Callable<Long>() {
+				public Long call() throws IOException {
+					long count = copy(serverIn, clientOut, -1);
+					browser.shutdownOutput();
+					return count;
+				}
+			});
+			copy(in, server.getOutputStream(), -1);
+			server.shutdownOutput();
+			responseBytes = downstream.get();
+		} catch (Exception e) {
+			if(status == -1) {
+				status = 502;
+				writeError(out, 502, "Bad Gateway");
+			}
+		} finally {
+			closeQuietly(server);
+			record("CONNECT", target, status, new LinkedHashMap<String, String>(), start, connectTime, -1, startNanos, responseBytes);
+		}
+	}
+
+	private static boolean isHopByHop(String name) {
+		return name.equalsIgnoreCase("connection")
+				|| name.equalsIgnoreCase("keep-alive")
+				|| name.equalsIgnoreCase("proxy-connection")
+				|| name.equalsIgnoreCase("proxy-authorization");
+	}
+
+	private static int parseStatus(String statusLine) {
+		String[] parts = statusLine.split(" ");
+		try {
+			return parts.length > 1 ? Integer.parseInt(parts[1]) : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static long elapsed(long startNanos) {
+		return (System.nanoTime() - startNanos) / 1000000;
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int b;
+		while((b = in.read()) != -1) {
+			if(b == '\n') {
+				int length = line.length();
+				if(length > 0 && line.charAt(length - 1) == '\r')
+					line.setLength(length - 1);
+				return line.toString();
+			}
+			if(line.length() >= MAX_LINE_LENGTH)
+				throw new IOException("Header line too long.");
+			line.append((char) b);
+		}
+		return line.length() == 0 ? null : line.toString();
+	}
+
+	private static List<String[]> readHeaders(InputStream in) throws IOException {
+		List<String[]> headers = new ArrayList<String[]>();
+		String line;
+		while((line = readLine(in)) != null && !line.isEmpty()) {
+			int separator = line.indexOf(':');
+			if(separator > 0)
+				headers.add(new String[] { line.substring(0, separator).trim(), line.substring(separator + 1).trim() });
+		}
+		return headers;
+	}
+
+	private static long copy(InputStream in, OutputStream out, long limit) throws IOException {
+		byte[] buffer = new byte[8192];
+		long total = 0;
+		while(limit < 0 || total < limit) {
+			int length = limit < 0 ? buffer.length : (int) Math.min(buffer.length, limit - total);
+			int read = in.read(buffer, 0, length);
+			if(read == -1)
+				break;
+			out.write(buffer, 0, read);
+			total += read;
+		}
+		return total;
+	}
+
+	private static void writeError(OutputStream out, int status, String reason) throws IOException {
+		writeAscii(out, "HTTP/1.1 " + status + " " + reason + "\r\nContent-Length: 0\r\nConnection: close\r\n\r\n");
+		out.flush();
+	}
+
+	private static void writeAscii(OutputStream out, String text) throws IOException {
+		out.write(text.getBytes("ISO-8859-1"));
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.waseemh.webdriver.assertions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer ring buffer.
+ * Writers never wait for readers: once the buffer is full the oldest values are overwritten.
+ * Slots are preallocated and reused, adding a value does not allocate.
+ * Every slot publishes the sequence it was written for after its value (ordered write),
+ * so readers can tell a published value apart from a slot that was claimed but not yet written,
+ * or that was already overwritten by a newer value.
+ * @author Waseem Hamshawi
+ *
+ * @param <T> type of buffered values
+ */
+public class RingBuffer<T> {
+
+	private static final long EMPTY = -1;
+
+	private static final long WRITING = -2;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicReferenceArray<T> values;
+
+	private final int mask;
+
+	private final AtomicLong nextSequence = new AtomicLong();
+
+	private volatile long clearedSequence;
+
+	/**
+	 * Create ring buffer holding at least given number of values.
+	 * Capacity is rounded up to the next power of two.
+	 * @param capacity
+	 */
+	public RingBuffer(int capacity) {
+		if(capacity <= 0 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+		int size = Integer.highestOneBit(capacity);
+		if(size < capacity)
+			size <<= 1;
+		sequences = new AtomicLongArray(size);
+		for(int i = 0; i < size; i++) {
+			sequences.set(i, EMPTY);
+		}
+		values = new AtomicReferenceArray<T>(size);
+		mask = size - 1;
+	}
+
+	/**
+	 * Add value to buffer, overwriting the oldest value if buffer is full.
+	 * @param value
+	 * @return sequence number assigned to value
+	 */
+	public long add(T value) {
+		long sequence = nextSequence.getAndIncrement();
+		int index = (int) (sequence & mask);
+		while(true) {
+			long current = sequences.get(index);
+			if(current > sequence) //lapped by a newer value, which overwrites this one anyway
+				return sequence;
+			if(current != WRITING && sequences.compareAndSet(index, current, WRITING))
+				break;
+			Thread.yield(); //another writer lapped the buffer and is writing this slot
+		}
+		values.lazySet(index, value);
+		sequences.lazySet(index, sequence);
+		return sequence;
+	}
+
+	/**
+	 * Return values currently held in buffer, oldest first.
+	 * Values which are still being written by another thread are skipped.
+	 * @return list of values
+	 */
+	public List<T> snapshot() {
+		long end = nextSequence.get();
+		long start = Math.max(clearedSequence, end - sequences.length());
+		List<T> snapshot = new ArrayList<T>((int) Math.max(0, end - start));
+		for(long sequence = start; sequence < end; sequence++) {
+			read(sequence, snapshot);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Move values added since given sequence number into sink, oldest first.
+	 * Draining stops at the first value which is still being written by another thread.
+	 * Values overwritten before they could be drained are skipped.
+	 * @param sequence sequence number to start draining from
+	 * @param sink
+	 * @return sequence number to continue draining from
+	 */
+	public long drainTo(long sequence, Collection<? super T> sink) {
+		long end = nextSequence.get();
+		long next = Math.max(sequence, end - sequences.length());
+		for(; next < end; next++) {
+			if(read(next, sink) < next)
+				break;
+		}
+		return next;
+	}
+
+	/**
+	 * Discard values added so far. Following snapshots only return newer values.
+	 */
+	public void clear() {
+		clearedSequence = nextSequence.get();
+	}
+
+	/**
+	 * Return total number of values ever added to buffer.
+	 * @return sequence number of next value
+	 */
+	public long getSequence() {
+		return nextSequence.get();
+	}
+
+	/**
+	 * Return number of values buffer can hold.
+	 * @return capacity
+	 */
+	public int getCapacity() {
+		return sequences.length();
+	}
+
+	/**
+	 * Add value published for given sequence number to sink, if it was not overwritten meanwhile.
+	 * @return sequence number published in slot, less than given sequence if value is not written yet
+	 */
+	private long read(long sequence, Collection<? super T> sink) {
+		int index = (int) (sequence & mask);
+		long published = sequences.get(index);
+		if(published == sequence) {
+			T value = values.get(index);
+			if(sequences.get(index) == sequence)
+				sink.add(value);
+			else published = sequence + 1; //overwritten while reading
+		}
+		return published;
+	}
+}
@@ -1,14 +1,16 @@
 package com.waseemh.webdriver.assertions;
 
-import static org.junit.Assert.assertArrayEquals;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
+import static com.waseemh.webdriver.assertions.LoggedAssert.assertArrayEquals;
+import static com.waseemh.webdriver.assertions.LoggedAssert.assertEquals;
+import static com.waseemh.webdriver.assertions.LoggedAssert.assertNotNull;
+import static com.waseemh.webdriver.assertions.LoggedAssert.assertTrue;
+import static com.waseemh.webdriver.assertions.LoggedAssert.fail;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
@@ -29,6 +31,50 @@ import org.openqa.selenium.support.ui.UnexpectedTagNameException;
  */
 public class WebDriverAssert{
 
+	private static final int LIST_STREAM_RENDER_TIMEOUT = 1000;
+
+	private static final int LIST_STREAM_POLL_INTERVAL = 50;
+
+	/**
+	 * Harvest rows rendered after anchor row (in visual order) and scroll anchor to top of container.
+	 * Returns no rows while container is still rendering a previous scroll position.
+	 * List is done once container is scrolled to the bottom and its last row is rendered.
+	 */
+	private static final String HARVEST_ROWS_SCRIPT =
+			"var container = arguments[0], selector = arguments[1], keyAttribute = arguments[2], anchor = arguments[3];" +
+			"if (anchor === null && container.scrollTop > 0) { container.scrollTop = 0; return {rows: [], done: false}; }" +
+			"var box = container.getBoundingClientRect(), viewTop = box.top + container.clientTop, viewBottom = viewTop + container.clientHeight;" +
+			"var atBottom = container.scrollTop + container.clientHeight >= container.scrollHeight - 1;" +
+			"var elements = container.querySelectorAll(selector), rendered = [];" +
+			"for (var i = 0; i < elements.length; i++) {" +
+			"  var rect = elements[i].getBoundingClientRect();" +
+			"  rendered.push({element: elements[i], top: rect.top, bottom: rect.bottom});" +
+			"}" +
+			"rendered.sort(function(a, b) { return a.top - b.top; });" +
+			"var start = 0;" +
+			"if (anchor === null) {" +
+			"  if (rendered.length > 0 && rendered[0].top > viewBottom) return {rows: [], done: false};" +
+			"} else {" +
+			"  start = -1;" +
+			"  for (var j = 0; j < rendered.length; j++) {" +
+			"    if (rendered[j].element.getAttribute(keyAttribute) === anchor) start = j + 1;" +
+			"  }" +
+			"  if (start < 0) return {rows: [], done: false};" +
+			"}" +
+			"var rows = [];" +
+			"for (var k = start; k < rendered.length; k++) {" +
+			"  var element = rendered[k].element;" +
+			"  var text = element.innerText || element.textContent || '';" +
+			"  rows.push([element.getAttribute(keyAttribute), text.replace(/\\s+/g, ' ').trim()]);" +
+			"}" +
+			"var last = rendered[rendered.length - 1];" +
+			"if (rows.length > 0 && !atBottom) {" +
+			"  var delta = last.top - viewTop;" +
+			"  container.scrollTop += delta > 0 ? delta : last.bottom - viewTop - 1;" +
+			"}" +
+			"var done = atBottom && (rendered.length == 0 || last.bottom >= viewBottom - 1 || container.scrollHeight <= container.clientHeight);" +
+			"return {rows: rows, done: done};";
+
 	/**
 	 * private constructor (static class)
 	 */
@@ -41,7 +87,14 @@ public class WebDriverAssert{
 	 * @param expectedTitle
 	 */
 	static public void assertTitleEquals(WebDriver driver, String expectedTitle) {
-		assertEquals(expectedTitle, driver.getTitle());
+		AssertionScope scope = AssertionLog.enter("assertTitleEquals", null);
+		try {
+			assertEquals(expectedTitle, driver.getTitle());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -52,12 +105,20 @@ public class WebDriverAssert{
 	 * @param msTime
 	 */
 	static public void assertResponseTimeLessThan(WebDriver driver, String url, int msTime) {
-		long start = System.currentTimeMillis(); 
-		driver.get(url);
-		long end  = System.currentTimeMillis(); 
-		long duration = end - start; 
-		
-		assertTrue("Page took " + duration + "ms to load (Greater than " + msTime+")",msTime>duration);
+		AssertionScope scope = AssertionLog.enter("assertResponseTimeLessThan", url);
+		try {
+			long start = System.currentTimeMillis(); 
+			driver.get(url);
+			long end  = System.currentTimeMillis(); 
+			long duration = end - start; 
+
+			scope.operands(msTime, duration);
+			assertTrue("Page took " + duration + "ms to load (Greater than " + msTime+")",msTime>duration);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -75,7 +136,14 @@ public class WebDriverAssert{
 	 * @param url
 	 */
 	static public void assertUrlEquals(WebDriver driver, String url) {
-		assertEquals( url , driver.getCurrentUrl() );
+		AssertionScope scope = AssertionLog.enter("assertUrlEquals", url);
+		try {
+			assertEquals( url , driver.getCurrentUrl() );
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -84,7 +152,14 @@ public class WebDriverAssert{
 	 * @param cookieName
 	 */
 	static public void assertCookie(WebDriver driver, String cookieName) {
-		assertNotNull(driver.manage().getCookieNamed(cookieName));
+		AssertionScope scope = AssertionLog.enter("assertCookie", cookieName);
+		try {
+			assertNotNull(driver.manage().getCookieNamed(cookieName));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -93,10 +168,17 @@ public class WebDriverAssert{
 	 * @param by
 	 */
 	static public void assertElementExists(WebDriver driver, By by) {
+		AssertionScope scope = AssertionLog.enter("assertElementExists", by);
 		try {
-			driver.findElement(by);
-		} catch (NoSuchElementException ex) { 
-			fail("Element not found using locator: " + by.toString());
+			try {
+				driver.findElement(by);
+			} catch (NoSuchElementException ex) { 
+				fail("Element not found using locator: " + by.toString());
+			}
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
 	}
 
@@ -105,11 +187,18 @@ public class WebDriverAssert{
 	 * @param driver
 	 */
 	static public void assertAlert(WebDriver driver) {
+		AssertionScope scope = AssertionLog.enter("assertAlert", null);
 		try {
-			driver.switchTo().alert();
-		}
-		catch(NoAlertPresentException e) {
-			fail("Alert window not found.");
+			try {
+				driver.switchTo().alert();
+			}
+			catch(NoAlertPresentException e) {
+				fail("Alert window not found.");
+			}
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
 	}
 
@@ -119,7 +208,16 @@ public class WebDriverAssert{
 	 * @param expectedString
 	 */
 	static public void assertTextPresent(WebDriver driver, String expectedString) {
-		assertTrue("Page doesn't contain expected string: " + expectedString, driver.findElement(By.tagName("body")).getText().contains(expectedString));
+		AssertionScope scope = AssertionLog.enter("assertTextPresent", null);
+		try {
+			String text = driver.findElement(By.tagName("body")).getText();
+			scope.operands(expectedString, text);
+			assertTrue("Page doesn't contain expected string: " + expectedString, text.contains(expectedString));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -128,7 +226,16 @@ public class WebDriverAssert{
 	 * @param expectedString
 	 */
 	static public void assertTextPresent(WebElement element, String expectedString) {
-		assertTrue("Element doesn't contain expected string: " + expectedString, element.getText().contains(expectedString));
+		AssertionScope scope = AssertionLog.enter("assertTextPresent", element);
+		try {
+			String text = element.getText();
+			scope.operands(expectedString, text);
+			assertTrue("Element doesn't contain expected string: " + expectedString, text.contains(expectedString));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -138,7 +245,14 @@ public class WebDriverAssert{
 	 * @param inputId
 	 */
 	static public void assertLabelPresent(WebDriver driver, String inputId) {
-		assertElementExists(driver,By.xpath("//label[@for='"+inputId+"']"));
+		AssertionScope scope = AssertionLog.enter("assertLabelPresent", inputId);
+		try {
+			assertElementExists(driver,By.xpath("//label[@for='"+inputId+"']"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -147,7 +261,14 @@ public class WebDriverAssert{
 	 * @param expectedString
 	 */
 	static public void assertTextEquals(WebElement element, String expectedString) {
-		assertEquals(expectedString, element.getText());
+		AssertionScope scope = AssertionLog.enter("assertTextEquals", element);
+		try {
+			assertEquals(expectedString, element.getText());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -157,7 +278,14 @@ public class WebDriverAssert{
 	 * @param expectedCssValue
 	 */
 	static public void assertCssValueEquals(WebElement element, String cssProperty, String expectedCssValue) {
-		assertEquals(expectedCssValue, element.getCssValue(cssProperty));
+		AssertionScope scope = AssertionLog.enter("assertCssValueEquals", element);
+		try {
+			assertEquals(expectedCssValue, element.getCssValue(cssProperty));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -166,7 +294,14 @@ public class WebDriverAssert{
 	 * @param color
 	 */
 	static public void assertCssBackgroundColorEquals(WebElement element, Color color) {
-		assertCssPropertyColorEquals(element,color,"background-color");
+		AssertionScope scope = AssertionLog.enter("assertCssBackgroundColorEquals", element);
+		try {
+			assertCssPropertyColorEquals(element,color,"background-color");
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -175,37 +310,50 @@ public class WebDriverAssert{
 	 * @param color
 	 */
 	static public void assertCssBorderColorEquals(WebElement element, Color color) {
-		String cssValue = element.getCssValue("border-color");
-		if(cssValue.isEmpty()) { //handle firefox driver issue with border-color property
-			assertCssBorderColorEquals(element,color,CssPosition.TOP);
-			assertCssBorderColorEquals(element,color,CssPosition.BOTTOM);
-			assertCssBorderColorEquals(element,color,CssPosition.RIGHT);
-			assertCssBorderColorEquals(element,color,CssPosition.LEFT);
+		AssertionScope scope = AssertionLog.enter("assertCssBorderColorEquals", element);
+		try {
+			String cssValue = element.getCssValue("border-color");
+			if(cssValue.isEmpty()) { //handle firefox driver issue with border-color property
+				assertCssBorderColorEquals(element,color,CssPosition.TOP);
+				assertCssBorderColorEquals(element,color,CssPosition.BOTTOM);
+				assertCssBorderColorEquals(element,color,CssPosition.RIGHT);
+				assertCssBorderColorEquals(element,color,CssPosition.LEFT);
+			}
+			else assertCssBorderColorEquals(element,color,CssPosition.NONE);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
-		else assertCssBorderColorEquals(element,color,CssPosition.NONE);
 	}
 
 	static public void assertCssBorderColorEquals(WebElement element, Color expectedColor, CssPosition position) {
+		AssertionScope scope = AssertionLog.enter("assertCssBorderColorEquals", element);
+		try {
+			String cssBorderProperty;
+			switch(position) {
+			case TOP:
+				cssBorderProperty = "border-top-color";
+				break;
+			case BOTTOM:
+				cssBorderProperty = "border-bottom-color";
+				break;
+			case RIGHT:
+				cssBorderProperty = "border-right-color";
+				break;
+			case LEFT:
+				cssBorderProperty = "border-left-color";
+				break;
+			default:
+				cssBorderProperty = "border-color";
+			}
 
-		String cssBorderProperty;
-		switch(position) {
-		case TOP:
-			cssBorderProperty = "border-top-color";
-			break;
-		case BOTTOM:
-			cssBorderProperty = "border-bottom-color";
-			break;
-		case RIGHT:
-			cssBorderProperty = "border-right-color";
-			break;
-		case LEFT:
-			cssBorderProperty = "border-left-color";
-			break;
-		default:
-			cssBorderProperty = "border-color";
+			assertCssPropertyColorEquals(element,expectedColor,cssBorderProperty);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
-
-		assertCssPropertyColorEquals(element,expectedColor,cssBorderProperty);
 	}
 
 	/**
@@ -214,7 +362,14 @@ public class WebDriverAssert{
 	 * @param color
 	 */
 	static public void assertCssColorEquals(WebElement element, Color color) {
-		assertCssPropertyColorEquals(element,color,"color");
+		AssertionScope scope = AssertionLog.enter("assertCssColorEquals", element);
+		try {
+			assertCssPropertyColorEquals(element,color,"color");
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -225,9 +380,17 @@ public class WebDriverAssert{
 	 * @param cssProperty
 	 */
 	static public void assertCssPropertyColorEquals(WebElement element, Color expectedColor, String cssProperty) {
-		String cssValue = element.getCssValue(cssProperty);
-		Color actualColor = Color.fromString(cssValue); 
-		assertTrue(expectedColor.equals(actualColor));
+		AssertionScope scope = AssertionLog.enter("assertCssPropertyColorEquals", element);
+		try {
+			String cssValue = element.getCssValue(cssProperty);
+			Color actualColor = Color.fromString(cssValue); 
+			scope.operands(expectedColor, actualColor);
+			assertTrue(expectedColor.equals(actualColor));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -236,7 +399,14 @@ public class WebDriverAssert{
 	 * @param expectedValue
 	 */
 	static public void assertValueEquals(WebElement element, String expectedValue) {
-		assertEquals(expectedValue, element.getAttribute("value"));
+		AssertionScope scope = AssertionLog.enter("assertValueEquals", element);
+		try {
+			assertEquals(expectedValue, element.getAttribute("value"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -244,7 +414,16 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertEnabled(WebElement element) {
-		assertTrue("Element is not enabled.",element.isEnabled());
+		AssertionScope scope = AssertionLog.enter("assertEnabled", element);
+		try {
+			boolean enabled = element.isEnabled();
+			scope.operands("enabled", enabled ? "enabled" : "disabled");
+			assertTrue("Element is not enabled.",enabled);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -252,7 +431,16 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertDisabled(WebElement element) {
-		assertTrue("Element is enabled.",!element.isEnabled());
+		AssertionScope scope = AssertionLog.enter("assertDisabled", element);
+		try {
+			boolean enabled = element.isEnabled();
+			scope.operands("disabled", enabled ? "enabled" : "disabled");
+			assertTrue("Element is enabled.",!enabled);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -260,7 +448,16 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertSelected(WebElement element) {
-		assertTrue("Element is not selected.",element.isSelected());
+		AssertionScope scope = AssertionLog.enter("assertSelected", element);
+		try {
+			boolean selected = element.isSelected();
+			scope.operands("selected", selected ? "selected" : "not selected");
+			assertTrue("Element is not selected.",selected);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -268,7 +465,16 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertVisible(WebElement element) {
-		assertTrue("Element is not visible.",element.isDisplayed());
+		AssertionScope scope = AssertionLog.enter("assertVisible", element);
+		try {
+			boolean displayed = element.isDisplayed();
+			scope.operands("visible", displayed ? "visible" : "not visible");
+			assertTrue("Element is not visible.",displayed);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -277,7 +483,14 @@ public class WebDriverAssert{
 	 * @param expectedTagName
 	 */
 	static public void assertTagNameEquals(WebElement element, String expectedTagName) {
-		assertEquals(expectedTagName,element.getTagName());
+		AssertionScope scope = AssertionLog.enter("assertTagNameEquals", element);
+		try {
+			assertEquals(expectedTagName,element.getTagName());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -285,8 +498,15 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertTextInput(WebElement element) {
-		assertEquals("Element is not a text input.","input",element.getTagName());
-		assertEquals("Element is not a text input.","text",element.getAttribute("type"));
+		AssertionScope scope = AssertionLog.enter("assertTextInput", element);
+		try {
+			assertEquals("Element is not a text input.","input",element.getTagName());
+			assertEquals("Element is not a text input.","text",element.getAttribute("type"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -294,8 +514,15 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertHiddenInput(WebElement element) {
-		assertEquals("Element is not a hidden input","input",element.getTagName());
-		assertEquals("Element is not a hidden input","hidden",element.getAttribute("type"));
+		AssertionScope scope = AssertionLog.enter("assertHiddenInput", element);
+		try {
+			assertEquals("Element is not a hidden input","input",element.getTagName());
+			assertEquals("Element is not a hidden input","hidden",element.getAttribute("type"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -303,7 +530,14 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertButton(WebElement element) {
-		assertEquals("button",element.getTagName());
+		AssertionScope scope = AssertionLog.enter("assertButton", element);
+		try {
+			assertEquals("button",element.getTagName());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -311,8 +545,15 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertCheckbox(WebElement element) {
-		assertEquals("Element is not a checkbox,","input",element.getTagName());
-		assertEquals("Element is not a checkbox.","checkbox",element.getAttribute("type"));
+		AssertionScope scope = AssertionLog.enter("assertCheckbox", element);
+		try {
+			assertEquals("Element is not a checkbox,","input",element.getTagName());
+			assertEquals("Element is not a checkbox.","checkbox",element.getAttribute("type"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -320,8 +561,15 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertCheckboxChecked(WebElement element) {
-		assertCheckbox(element);
-		assertSelected(element);
+		AssertionScope scope = AssertionLog.enter("assertCheckboxChecked", element);
+		try {
+			assertCheckbox(element);
+			assertSelected(element);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -329,8 +577,15 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertRadio(WebElement element) {
-		assertEquals("Element is not a radio.","input",element.getTagName());
-		assertEquals("Element is not a radio.","radio",element.getAttribute("type"));
+		AssertionScope scope = AssertionLog.enter("assertRadio", element);
+		try {
+			assertEquals("Element is not a radio.","input",element.getTagName());
+			assertEquals("Element is not a radio.","radio",element.getAttribute("type"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -339,7 +594,14 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertLink(WebElement element) {
-		assertEquals("Element is not a link.","a",element.getTagName());
+		AssertionScope scope = AssertionLog.enter("assertLink", element);
+		try {
+			assertEquals("Element is not a link.","a",element.getTagName());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -357,8 +619,15 @@ public class WebDriverAssert{
 	 * @param url
 	 */
 	static public void assertLinkUrlEquals(WebElement element,String url) {
-		assertLink(element);
-		assertEquals(url.toString(),element.getAttribute("href"));
+		AssertionScope scope = AssertionLog.enter("assertLinkUrlEquals", element);
+		try {
+			assertLink(element);
+			assertEquals(url.toString(),element.getAttribute("href"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -366,7 +635,14 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertTextArea(WebElement element) {
-		assertEquals("Element is not a text area.","textarea",element.getTagName());
+		AssertionScope scope = AssertionLog.enter("assertTextArea", element);
+		try {
+			assertEquals("Element is not a text area.","textarea",element.getTagName());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -374,7 +650,14 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertImage(WebElement element) {
-		assertEquals("Element is not an image.","img",element.getTagName());
+		AssertionScope scope = AssertionLog.enter("assertImage", element);
+		try {
+			assertEquals("Element is not an image.","img",element.getTagName());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -384,21 +667,28 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertImageVisible(WebDriver driver, WebElement element) {
+		AssertionScope scope = AssertionLog.enter("assertImageVisible", element);
+		try {
+			assertImage(element);
 
-		assertImage(element);
-
-		String script;
-		boolean result = false;
+			String script;
+			boolean result = false;
 
-		if(driver instanceof InternetExplorerDriver)
-			script = "return arguments[0].complete";
+			if(driver instanceof InternetExplorerDriver)
+				script = "return arguments[0].complete";
 
-		else script = "return (typeof arguments[0].naturalWidth!=\"undefined\" && arguments[0].naturalWidth>0)";
+			else script = "return (typeof arguments[0].naturalWidth!=\"undefined\" && arguments[0].naturalWidth>0)";
 
-		if (driver instanceof JavascriptExecutor)
-			result = (Boolean) ((JavascriptExecutor)driver).executeScript(script,element);
+			if (driver instanceof JavascriptExecutor)
+				result = (Boolean) ((JavascriptExecutor)driver).executeScript(script,element);
 
-		assertTrue("Image is not visible.", result);
+			scope.operands("visible", result ? "visible" : "not visible");
+			assertTrue("Image is not visible.", result);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -407,11 +697,18 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertMenu(WebElement element) {
+		AssertionScope scope = AssertionLog.enter("assertMenu", element);
 		try {
-			new Select(element);
-		}
-		catch (UnexpectedTagNameException e) {
-			fail("Element is not a menu.");
+			try {
+				new Select(element);
+			}
+			catch (UnexpectedTagNameException e) {
+				fail("Element is not a menu.");
+			}
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
 	}
 
@@ -423,22 +720,32 @@ public class WebDriverAssert{
 	 * @param expectedOption
 	 */
 	static public void assertMenuOptionSelected(WebElement element, String expectedOption) {
+		AssertionScope scope = AssertionLog.enter("assertMenuOptionSelected", element);
+		try {
+			assertMenu(element);
 
-		assertMenu(element);
-
-		boolean result = false;
+			boolean result = false;
 
-		Select selectElement = new Select(element);
+			Select selectElement = new Select(element);
 
-		List<WebElement> optionElements = selectElement.getAllSelectedOptions();
+			List<WebElement> optionElements = selectElement.getAllSelectedOptions();
+			List<String> selectedOptions = new ArrayList<String>();
 
-		for (WebElement option : optionElements) {
-			if(option.getText().equals(expectedOption)) {
-				result=true;
+			for (WebElement option : optionElements) {
+				String text = option.getText();
+				selectedOptions.add(text);
+				if(text.equals(expectedOption)) {
+					result=true;
+				}
 			}
-		}
 
-		assertTrue("Expected option isn't selected: " + expectedOption,result);
+			scope.operands(expectedOption, selectedOptions);
+			assertTrue("Expected option isn't selected: " + expectedOption,result);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -449,9 +756,15 @@ public class WebDriverAssert{
 	 * @param expectedSelectValues
 	 */
 	static public void assertMenuOptionsSelected(WebElement element, List<String> expectedSelectValues) {
-
-		for(String expectedValue : expectedSelectValues) {
-			assertMenuOptionSelected(element,expectedValue);
+		AssertionScope scope = AssertionLog.enter("assertMenuOptionsSelected", element);
+		try {
+			for(String expectedValue : expectedSelectValues) {
+				assertMenuOptionSelected(element,expectedValue);
+			}
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
 	}
 
@@ -463,8 +776,15 @@ public class WebDriverAssert{
 	 * @param expectedOptions
 	 */
 	static public void assertMenuOptionsEqual(WebElement element, List<String> expectedOptions) {
-		for(String expectedOption : expectedOptions) {
-			assertMenuContainsOption(element,expectedOption);
+		AssertionScope scope = AssertionLog.enter("assertMenuOptionsEqual", element);
+		try {
+			for(String expectedOption : expectedOptions) {
+				assertMenuContainsOption(element,expectedOption);
+			}
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
 	}
 
@@ -476,32 +796,138 @@ public class WebDriverAssert{
 	 * @param expectedOption
 	 */
 	static public void assertMenuContainsOption(WebElement element, String expectedOption) {
-
-		assertMenu(element);
-		Select select = new Select(element);
-		boolean result = false;
-
-		for (WebElement optionElement : select.getOptions()) {
-			if(optionElement.getText().equals(expectedOption)) {
-				result=true;
+		AssertionScope scope = AssertionLog.enter("assertMenuContainsOption", element);
+		try {
+			assertMenu(element);
+			Select select = new Select(element);
+			boolean result = false;
+			List<String> options = new ArrayList<String>();
+
+			for (WebElement optionElement : select.getOptions()) {
+				String text = optionElement.getText();
+				options.add(text);
+				if(text.equals(expectedOption)) {
+					result=true;
+				}
 			}
-		}
 
-		assertTrue("Expected option isn't found: " + expectedOption,result);
+			scope.operands(expectedOption, options);
+			assertTrue("Expected option isn't found: " + expectedOption,result);
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 
 	static public void assertListEquals(WebElement element, List<String> expectedValues) {
+		AssertionScope scope = AssertionLog.enter("assertListEquals", element);
+		try {
+			List<WebElement> liElements = element.findElements(By.tagName("li"));
 
-		List<WebElement> liElements = element.findElements(By.tagName("li"));
+			List<String> actualValues = new ArrayList<String>();
 
-		List<String> actualValues = new ArrayList<String>();
+			for (WebElement liElement: liElements) {
+				actualValues.add(liElement.getText());
+			}
 
-		for (WebElement liElement: liElements) {
-			actualValues.add(liElement.getText());
+			assertArrayEquals(expectedValues.toArray(),actualValues.toArray());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
 		}
+	}
+
+	/**
+	 * Assert that rows of a virtualized (or infinite scroll) list equal to expected values, in order.
+	 * Container is scrolled from the top and rows rendered by each scroll step are harvested in a single script call.
+	 * Rows are identified by key attribute (e.g. "data-index"), which must be unique per row.
+	 * Row text is compared with whitespace collapsed.
+	 * Only current row is held in memory, so expected values can be generated lazily.
+	 * List is considered complete once it is scrolled to the bottom and its last row is rendered.
+	 * @param driver
+	 * @param container scrollable element containing rows
+	 * @param rowSelector CSS selector of rows within container
+	 * @param keyAttribute
+	 * @param expectedValues
+	 */
+	static public void assertListStreamEquals(WebDriver driver, WebElement container, String rowSelector, String keyAttribute, Iterator<String> expectedValues) {
+		assertListStreamEquals(driver, container, rowSelector, keyAttribute, expectedValues, Integer.MAX_VALUE, 0);
+	}
+
+	/**
+	 * Assert that rows of a virtualized (or infinite scroll) list equal to expected values, in order.
+	 * Stops on first mismatching row, or after comparing given number of rows.
+	 * List is considered complete once it is scrolled to the bottom, its last row is rendered
+	 * and no more rows are loaded within given idle time (in milliseconds).
+	 * Fails if rows following the last compared row are not rendered within a second (e.g. row was removed).
+	 * Use an idle time for infinite scroll lists, which load more rows once scrolled to the bottom.
+	 * @param driver
+	 * @param container scrollable element containing rows
+	 * @param rowSelector CSS selector of rows within container
+	 * @param keyAttribute
+	 * @param expectedValues
+	 * @param limit maximum number of rows to compare
+	 * @param msIdleTimeout time to wait for more rows at bottom of list, 0 for lists which are fully loaded
+	 */
+	static public void assertListStreamEquals(WebDriver driver, WebElement container, String rowSelector, String keyAttribute, Iterator<String> expectedValues, int limit, int msIdleTimeout) {
+		AssertionScope scope = AssertionLog.enter("assertListStreamEquals", container);
+		try {
+			if(!(driver instanceof JavascriptExecutor))
+				fail("Driver doesn't support JavaScript execution.");
+
+			JavascriptExecutor executor = (JavascriptExecutor) driver;
+			String anchor = null;
+			int index = 0;
+			long waitStart = System.currentTimeMillis();
+
+			while(index < limit) {
+				Map<?, ?> batch = (Map<?, ?>) executor.executeScript(HARVEST_ROWS_SCRIPT, container, rowSelector, keyAttribute, anchor);
+				List<?> rows = (List<?>) batch.get("rows");
+				boolean done = Boolean.TRUE.equals(batch.get("done"));
+
+				for(Object row : rows) {
+					String key = (String) ((List<?>) row).get(0);
+					String actualValue = (String) ((List<?>) row).get(1);
+
+					assertNotNull("Row is missing key attribute: " + keyAttribute, key);
+					if(!expectedValues.hasNext())
+						fail("List has more rows than expected. Unexpected row " + index + " [" + key + "]: " + actualValue);
+					assertEquals("List row " + index + " [" + key + "] differs.", expectedValues.next(), actualValue);
+
+					anchor = key;
+					if(++index >= limit)
+						return;
+				}
+
+				//wait for rendering of scrolled rows, or for more rows loaded at bottom of list
+				long now = System.currentTimeMillis();
+				if(!rows.isEmpty())
+					waitStart = now;
+				if(done && now - waitStart >= msIdleTimeout)
+					break;
+				if(!done && now - waitStart >= LIST_STREAM_RENDER_TIMEOUT)
+					fail("List didn't render rows after " + (anchor == null ? "top of list" : "row [" + anchor + "]")
+							+ " within " + LIST_STREAM_RENDER_TIMEOUT + "ms.");
+				if(rows.isEmpty()) {
+					try {
+						Thread.sleep(LIST_STREAM_POLL_INTERVAL);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						fail("Interrupted while scrolling list.");
+					}
+				}
+			}
 
-		assertArrayEquals(expectedValues.toArray(),actualValues.toArray());
+			if(index < limit && expectedValues.hasNext())
+				fail("List ended after " + index + " rows, expected more: " + expectedValues.next());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -509,7 +935,17 @@ public class WebDriverAssert{
 	 * @param element
 	 */
 	static public void assertPasswordTextField(WebElement element) {
-		assertTrue("Element is not a password text field.",element.getTagName().equals("input") && element.getAttribute("type").equals("password"));
+		AssertionScope scope = AssertionLog.enter("assertPasswordTextField", element);
+		try {
+			String tagName = element.getTagName();
+			String type = element.getAttribute("type");
+			scope.operands("input[type=password]", tagName + "[type=" + type + "]");
+			assertTrue("Element is not a password text field.",tagName.equals("input") && type.equals("password"));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -518,7 +954,14 @@ public class WebDriverAssert{
 	 * @param attribute
 	 */
 	static public void assertAttributePresent(WebElement element, String attribute) {
-		assertNotNull("Attribute is not found in element.", element.getAttribute(attribute));
+		AssertionScope scope = AssertionLog.enter("assertAttributePresent", element);
+		try {
+			assertNotNull("Attribute is not found in element.", element.getAttribute(attribute));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -528,8 +971,15 @@ public class WebDriverAssert{
 	 * @param expectedValue
 	 */
 	static public void assertAttributeValueEquals(WebElement element, String attribute, String expectedValue) {
-		assertAttributePresent(element,attribute);
-		assertEquals(element.getAttribute(attribute),expectedValue);
+		AssertionScope scope = AssertionLog.enter("assertAttributeValueEquals", element);
+		try {
+			assertAttributePresent(element,attribute);
+			assertEquals(expectedValue,element.getAttribute(attribute));
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -538,7 +988,14 @@ public class WebDriverAssert{
 	 * @param dim
 	 */
 	static public void assertSizeEquals(WebElement element,Dimension dim) {
-		assertEquals(element.getSize(),dim);
+		AssertionScope scope = AssertionLog.enter("assertSizeEquals", element);
+		try {
+			assertEquals(dim,element.getSize());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	/**
@@ -569,7 +1026,14 @@ public class WebDriverAssert{
 	 * @param point
 	 */
 	static public void assertPointEquals(WebElement element,Point point) {
-		assertEquals(element.getLocation(),point);
+		AssertionScope scope = AssertionLog.enter("assertPointEquals", element);
+		try {
+			assertEquals(point,element.getLocation());
+		} catch (RuntimeException e) {
+			throw scope.error(e);
+		} finally {
+			scope.exit();
+		}
 	}
 
 	public enum CssPosition {
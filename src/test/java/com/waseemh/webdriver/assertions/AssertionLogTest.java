@@ -0,0 +1,343 @@
+package com.waseemh.webdriver.assertions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.Color;
+
+import com.waseemh.webdriver.assertions.WebDriverAssert.CssPosition;
+
+/**
+ * Tests for assertion event log, using stub driver and elements.
+ */
+public class AssertionLogTest
+{
+	File directory;
+
+	WebDriver driver;
+
+	@Before
+	public void setup() {
+		directory = new File(System.getProperty("java.io.tmpdir"), "assertion-log-" + System.nanoTime());
+		driver = AssertionLog.countCommands(stub(WebDriver.class, false));
+	}
+
+	@Test
+	public void logAssertionsTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		WebElement element = driver.findElement(By.id("f1"));
+
+		WebDriverAssert.assertTextInput(element);
+		try {
+			WebDriverAssert.assertTextEquals(element, "other text");
+			fail("Expected assertion error.");
+		} catch (AssertionError e) {
+		}
+		try {
+			WebDriverAssert.assertCheckboxChecked(element);
+			fail("Expected assertion error.");
+		} catch (AssertionError e) {
+		}
+		AssertionLog.stop();
+
+		List<String> lines = readLines(log.getFiles());
+		assertEquals(3, lines.size());
+		assertEquals(3, log.getWrittenEvents());
+		assertEquals(0, log.getDroppedEvents());
+
+		assertTrue(lines.get(0), lines.get(0).contains("\"method\":\"assertTextInput\""));
+		assertTrue(lines.get(0), lines.get(0).contains("\"expected\":\"text\",\"actual\":\"text\",\"outcome\":\"passed\""));
+		assertTrue(lines.get(0), lines.get(0).contains("\"commands\":2"));
+
+		assertTrue(lines.get(1), lines.get(1).contains("\"method\":\"assertTextEquals\""));
+		assertTrue(lines.get(1), lines.get(1).contains("\"expected\":\"other text\",\"actual\":\"stub text\",\"outcome\":\"failed\""));
+
+		//nested assertCheckbox is folded into outer assertion
+		assertTrue(lines.get(2), lines.get(2).contains("\"method\":\"assertCheckboxChecked\""));
+		assertTrue(lines.get(2), lines.get(2).contains("\"outcome\":\"failed\""));
+	}
+
+	@Test
+	public void booleanCheckOperandsTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		WebElement element = driver.findElement(By.id("f1"));
+		WebDriverAssert.assertTextPresent(element, "stub");
+		try {
+			WebDriverAssert.assertEnabled(element);
+			fail("Expected assertion error.");
+		} catch (AssertionError e) {
+		}
+		AssertionLog.stop();
+
+		List<String> lines = readLines(log.getFiles());
+		assertEquals(2, lines.size());
+		assertTrue(lines.get(0), lines.get(0).contains("\"expected\":\"stub\",\"actual\":\"stub text\",\"outcome\":\"passed\""));
+		assertTrue(lines.get(1), lines.get(1).contains("\"expected\":\"enabled\",\"actual\":\"disabled\",\"outcome\":\"failed\""));
+	}
+
+	@Test
+	public void expectedActualOrderTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		try {
+			WebDriverAssert.assertAttributeValueEquals(driver.findElement(By.id("f1")), "type", "password");
+			fail("Expected assertion error.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("expected:<password> but was:<text>"));
+		}
+		AssertionLog.stop();
+
+		List<String> lines = readLines(log.getFiles());
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0), lines.get(0).contains("\"expected\":\"password\",\"actual\":\"text\",\"outcome\":\"failed\""));
+	}
+
+	@Test
+	public void commandCountTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		WebDriverAssert.assertAlert(driver);
+		AssertionLog.stop();
+
+		//switchTo() is an accessor, alert() is a command
+		List<String> lines = readLines(log.getFiles());
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0), lines.get(0).contains("\"commands\":1"));
+	}
+
+	@Test
+	public void nestedOverloadsTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		try {
+			WebDriverAssert.assertCssBorderColorEquals(driver.findElement(By.id("f1")), Color.fromString("#000000"));
+		} catch (RuntimeException e) { //stub border color is empty
+		}
+		AssertionLog.stop();
+
+		//border-color lookup and per-side checks fold into one event
+		List<String> lines = readLines(log.getFiles());
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0), lines.get(0).contains("\"method\":\"assertCssBorderColorEquals\""));
+		assertTrue(lines.get(0), lines.get(0).contains("\"commands\":2"));
+	}
+
+	@Test
+	public void errorTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		WebElement element = driver.findElement(By.id("broken"));
+		try {
+			WebDriverAssert.assertVisible(element);
+			fail("Expected driver exception.");
+		} catch (IllegalStateException e) {
+		}
+		AssertionLog.stop();
+
+		List<String> lines = readLines(log.getFiles());
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0), lines.get(0).contains("\"outcome\":\"error\""));
+		assertTrue(lines.get(0), lines.get(0).contains("stub driver failure"));
+		assertTrue(lines.get(0), lines.get(0).contains("\"commands\":1"));
+	}
+
+	@Test
+	public void methodNamesTest() throws Exception {
+		for(Method method : WebDriverAssert.class.getMethods()) {
+			if(method.getDeclaringClass() != WebDriverAssert.class || !Modifier.isStatic(method.getModifiers()))
+				continue;
+			Object[] args = new Object[method.getParameterTypes().length];
+			for(int i = 0; i < args.length; i++) {
+				args[i] = argument(method.getParameterTypes()[i]);
+			}
+
+			AssertionLog log = AssertionLog.start(directory);
+			try {
+				method.invoke(null, args);
+			} catch (InvocationTargetException e) {
+			}
+			AssertionLog.stop();
+
+			List<String> lines = readLines(log.getFiles());
+			assertFalse(method.toString(), lines.isEmpty());
+			for(String line : lines) {
+				assertTrue(method + ": " + line, line.contains("\"method\":\"" + method.getName() + "\""));
+			}
+		}
+	}
+
+	@Test
+	public void rotationTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory, 1024, 1000, 2);
+		WebElement element = driver.findElement(By.id("f1"));
+		for(int i = 0; i < 100; i++) {
+			WebDriverAssert.assertTextInput(element);
+		}
+		AssertionLog.stop();
+
+		assertEquals(100, log.getWrittenEvents());
+		assertEquals(2, log.getFiles().size());
+		assertEquals(2, directory.listFiles().length);
+		assertTrue(readLines(log.getFiles()).size() < 100);
+	}
+
+	@Test
+	public void stopTest() throws IOException {
+		AssertionLog log = AssertionLog.start(directory);
+		try {
+			AssertionLog.start(directory, 0, AssertionLog.DEFAULT_MAX_FILE_BYTES, AssertionLog.DEFAULT_MAX_FILES);
+			fail("Expected invalid capacity.");
+		} catch (IllegalArgumentException e) {
+		}
+		assertTrue(AssertionLog.isEnabled());
+		AssertionLog.stop();
+
+		//assertion completing on another thread after log was stopped
+		log.record(new AssertionEvent(0, "main", "assertTextInput", null, null, null, AssertionEvent.Outcome.PASSED, null, 0, 0));
+		assertEquals(0, log.getWrittenEvents());
+		assertEquals(1, log.getDroppedEvents());
+	}
+
+	/**
+	 * Logging must add less than 1% to suite time. A WebDriver command takes at least a millisecond
+	 * (HTTP round trip to the browser), so a logged assertion may add at most 10us.
+	 */
+	@Test
+	public void overheadTest() throws IOException {
+		WebElement element = driver.findElement(By.id("f1"));
+		int assertions = 100000;
+		long off = 0, on = 0;
+		for(int round = 0; round < 3; round++) { //first round warms up
+			off = time(element, assertions);
+			AssertionLog.start(directory, AssertionLog.DEFAULT_CAPACITY, 1024 * 1024, 2);
+			on = time(element, assertions);
+			AssertionLog.stop();
+		}
+		double overheadMicros = (on - off) / 1000.0 / assertions;
+		assertTrue("Logging added " + overheadMicros + "us per assertion", overheadMicros < 10);
+	}
+
+	private static long time(WebElement element, int assertions) {
+		long start = System.nanoTime();
+		for(int i = 0; i < assertions; i++) {
+			WebDriverAssert.assertTextInput(element);
+		}
+		return System.nanoTime() - start;
+	}
+
+	@Test
+	public void disabledTest() {
+		assertFalse(AssertionLog.isEnabled());
+		WebDriverAssert.assertTextInput(driver.findElement(By.id("f1")));
+		assertFalse(directory.exists());
+	}
+
+	@After
+	public void teardown() throws IOException {
+		AssertionLog.stop();
+		File[] files = directory.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	private static List<String> readLines(List<File> files) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		for(File file : files) {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+			try {
+				String line;
+				while((line = reader.readLine()) != null) {
+					lines.add(line);
+				}
+			} finally {
+				reader.close();
+			}
+		}
+		return lines;
+	}
+
+	private Object argument(Class<?> type) throws IOException {
+		if(type == WebDriver.class)
+			return driver;
+		if(type == WebElement.class)
+			return driver.findElement(By.id("f1"));
+		if(type == By.class)
+			return By.id("f1");
+		if(type == String.class)
+			return "text";
+		if(type == int.class)
+			return 1;
+		if(type == URL.class)
+			return new URL("http://localhost/");
+		if(type == Color.class)
+			return Color.fromString("#000000");
+		if(type == Dimension.class)
+			return new Dimension(1, 1);
+		if(type == Point.class)
+			return new Point(1, 1);
+		if(type == CssPosition.class)
+			return CssPosition.NONE;
+		if(type == List.class)
+			return Collections.emptyList();
+		if(type == Iterator.class)
+			return Collections.emptyList().iterator();
+		throw new IllegalArgumentException("No stub argument for " + type);
+	}
+
+	/**
+	 * Stub driver whose elements are text inputs, with an alert present; element found by id "broken" fails on every call.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(final Class<T> type, final boolean broken) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if(name.equals("toString"))
+					return "stub " + type.getSimpleName();
+				if(name.equals("findElement"))
+					return stub(WebElement.class, String.valueOf(args[0]).contains("broken"));
+				if(name.equals("switchTo") || name.equals("alert"))
+					return stub(method.getReturnType(), false);
+				if(broken)
+					throw new IllegalStateException("stub driver failure");
+				if(name.equals("getTagName"))
+					return "input";
+				if(name.equals("getAttribute"))
+					return "text";
+				if(name.equals("getText"))
+					return "stub text";
+				if(method.getReturnType() == String.class)
+					return "";
+				if(method.getReturnType() == boolean.class)
+					return false;
+				return null;
+			}
+		});
+	}
+}
@@ -0,0 +1,313 @@
+package com.waseemh.webdriver.assertions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.URL;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for recording proxy and network assertions, using a local stub HTTP server.
+ */
+public class RecordingProxyTest
+{
+	HttpServer server;
+
+	RecordingProxy proxy;
+
+	String baseUrl;
+
+	@Before
+	public void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/page", new StubHandler(200, "text/html", null, null, 0));
+		server.createContext("/app.js", new StubHandler(200, "application/javascript", "gzip", "public, max-age=3600", 0));
+		server.createContext("/plain.js", new StubHandler(200, "application/javascript", null, "no-cache", 0));
+		server.createContext("/missing", new StubHandler(404, "text/html", null, null, 0));
+		server.createContext("/slow", new StubHandler(200, "text/html", null, null, 300));
+		server.createContext("/large", new StubHandler(200, "text/html", null, null, 0, 4 * 1024 * 1024));
+		server.createContext("/events", new EventStreamHandler(2000));
+		server.start();
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+		proxy = new RecordingProxy();
+		proxy.start();
+	}
+
+	@Test
+	public void recordExchangeTest() throws IOException {
+		assertEquals(200, get("/app.js"));
+
+		List<RecordedExchange> exchanges = proxy.getExchanges();
+		assertEquals(1, exchanges.size());
+		RecordedExchange exchange = exchanges.get(0);
+		assertEquals("GET", exchange.getMethod());
+		assertEquals(baseUrl + "/app.js", exchange.getUrl());
+		assertEquals(200, exchange.getStatus());
+		assertEquals("application/javascript", exchange.getContentType());
+		assertEquals("gzip", exchange.getResponseHeader("Content-Encoding"));
+		assertEquals(StubHandler.BODY.length, exchange.getResponseBytes());
+		assertTrue(exchange.getServerTime() >= 0);
+
+		proxy.clear();
+		assertTrue(proxy.getExchanges().isEmpty());
+	}
+
+	@Test
+	public void errorResponsesTest() throws IOException {
+		get("/page");
+		NetworkAssert.assertNoErrorResponses(proxy);
+
+		assertEquals(404, get("/missing"));
+		try {
+			NetworkAssert.assertNoErrorResponses(proxy);
+			fail("Expected assertion error for 404 response.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage().contains("/missing"));
+		}
+	}
+
+	@Test
+	public void scriptsCompressedTest() throws IOException {
+		get("/page");
+		get("/app.js");
+		NetworkAssert.assertScriptsCompressed(proxy);
+		NetworkAssert.assertCacheableAssetsHaveMaxAge(proxy);
+
+		get("/plain.js");
+		try {
+			NetworkAssert.assertScriptsCompressed(proxy);
+			fail("Expected assertion error for uncompressed script.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage().contains("/plain.js"));
+		}
+		try {
+			NetworkAssert.assertCacheableAssetsHaveMaxAge(proxy);
+			fail("Expected assertion error for script without max-age.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage().contains("/plain.js"));
+		}
+	}
+
+	@Test
+	public void nothingInspectedTest() throws IOException {
+		//tunneled exchange only, its response cannot be inspected
+		Socket socket = new Socket("127.0.0.1", proxy.getPort());
+		try {
+			socket.getOutputStream().write(("CONNECT 127.0.0.1:" + server.getAddress().getPort() + " HTTP/1.1\r\n\r\n").getBytes());
+			socket.getInputStream().read();
+		} finally {
+			socket.close();
+		}
+		awaitExchanges(1);
+		assertTrue(proxy.getExchanges().get(0).isTunnel());
+
+		try {
+			NetworkAssert.assertNoErrorResponses(proxy);
+			fail("Expected assertion error without plain HTTP responses.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage().contains("No plain HTTP responses"));
+		}
+
+		get("/page");
+		NetworkAssert.assertNoErrorResponses(proxy);
+		try {
+			NetworkAssert.assertScriptsCompressed(proxy);
+			fail("Expected assertion error without scripts.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage().contains("No plain HTTP script responses"));
+		}
+		try {
+			NetworkAssert.assertCacheableAssetsHaveMaxAge(proxy);
+			fail("Expected assertion error without assets.");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage().contains("No plain HTTP asset responses"));
+		}
+	}
+
+	@Test
+	public void serverTimeTest() throws IOException {
+		get("/slow");
+		NetworkAssert.assertServerTimeLessThan(proxy, 95, 5000);
+		try {
+			NetworkAssert.assertServerTimeLessThan(proxy, 95, 100);
+			fail("Expected assertion error for slow server.");
+		} catch (AssertionError e) {
+		}
+	}
+
+	@Test
+	public void abortedResponseTest() throws Exception {
+		Proxy httpProxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress("127.0.0.1", proxy.getPort()));
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + "/large").openConnection(httpProxy);
+		connection.getInputStream().read();
+		connection.disconnect(); //browser cancels request halfway
+
+		awaitExchanges(1);
+		List<RecordedExchange> exchanges = proxy.getExchanges();
+		assertEquals(1, exchanges.size());
+		assertEquals(200, exchanges.get(0).getStatus());
+		assertTrue(exchanges.get(0).getServerTime() >= 0);
+	}
+
+	@Test
+	public void streamingResponseTest() throws IOException {
+		Proxy httpProxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress("127.0.0.1", proxy.getPort()));
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + "/events").openConnection(httpProxy);
+		try {
+			long start = System.currentTimeMillis();
+			InputStream body = connection.getInputStream();
+			byte[] first = EventStreamHandler.EVENT;
+			for(int i = 0; i < first.length; i++) {
+				assertEquals(first[i], body.read());
+			}
+			//first event is relayed before server sends the next one
+			long elapsed = System.currentTimeMillis() - start;
+			assertTrue("First event took " + elapsed + "ms", elapsed < 1000);
+			while(body.read() != -1);
+			body.close();
+		} finally {
+			connection.disconnect();
+		}
+
+		awaitExchanges(1);
+		assertEquals(200, proxy.getExchanges().get(0).getStatus());
+		assertTrue(proxy.getExchanges().get(0).getResponseBytes() >= 2 * EventStreamHandler.EVENT.length); //chunked framing included
+	}
+
+	@Test
+	public void unreachableServerTest() throws IOException {
+		server.stop(0);
+		assertEquals(502, get("/page"));
+		assertEquals(502, proxy.getExchanges().get(0).getStatus());
+	}
+
+	@After
+	public void teardown() {
+		proxy.stop();
+		server.stop(0);
+	}
+
+	/**
+	 * Perform request through proxy and wait for its exchange to be recorded (after the server closed the response).
+	 */
+	private int get(String path) throws IOException {
+		int recorded = proxy.getExchanges().size();
+		Proxy httpProxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress("127.0.0.1", proxy.getPort()));
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection(httpProxy);
+		try {
+			int status = connection.getResponseCode();
+			InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+			if(body != null) {
+				while(body.read() != -1);
+				body.close();
+			}
+			return status;
+		} finally {
+			connection.disconnect();
+			awaitExchanges(recorded + 1);
+		}
+	}
+
+	private void awaitExchanges(int count) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(proxy.getExchanges().size() < count && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Server-sent events stub, flushing one event right away and another one after given delay.
+	 */
+	static class EventStreamHandler implements HttpHandler {
+
+		static final byte[] EVENT = "data: hello\n\n".getBytes();
+
+		final long delay;
+
+		EventStreamHandler(long delay) {
+			this.delay = delay;
+		}
+
+		public void handle(HttpExchange exchange) throws IOException {
+			exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+			exchange.sendResponseHeaders(200, 0);
+			OutputStream out = exchange.getResponseBody();
+			try {
+				out.write(EVENT);
+				out.flush();
+				Thread.sleep(delay);
+				out.write(EVENT);
+			} catch (InterruptedException e) {
+			} finally {
+				out.close();
+			}
+		}
+	}
+
+	static class StubHandler implements HttpHandler {
+
+		static final byte[] BODY = "stub response body".getBytes();
+
+		final byte[] body;
+
+		final int status;
+		final String contentType;
+		final String contentEncoding;
+		final String cacheControl;
+		final long delay;
+
+		StubHandler(int status, String contentType, String contentEncoding, String cacheControl, long delay) {
+			this(status, contentType, contentEncoding, cacheControl, delay, 0);
+		}
+
+		StubHandler(int status, String contentType, String contentEncoding, String cacheControl, long delay, int size) {
+			this.body = size == 0 ? BODY : new byte[size];
+			this.status = status;
+			this.contentType = contentType;
+			this.contentEncoding = contentEncoding;
+			this.cacheControl = cacheControl;
+			this.delay = delay;
+		}
+
+		public void handle(HttpExchange exchange) throws IOException {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+			}
+			exchange.getResponseHeaders().set("Content-Type", contentType);
+			if(contentEncoding != null)
+				exchange.getResponseHeaders().set("Content-Encoding", contentEncoding);
+			if(cacheControl != null)
+				exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+			exchange.sendResponseHeaders(status, body.length);
+			OutputStream out = exchange.getResponseBody();
+			try {
+				out.write(body);
+			} finally {
+				out.close();
+			}
+		}
+	}
+}
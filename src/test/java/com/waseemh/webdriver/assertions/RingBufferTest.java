@@ -0,0 +1,91 @@
+package com.waseemh.webdriver.assertions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for lock-free ring buffer.
+ */
+public class RingBufferTest
+{
+	@Test
+	public void snapshotTest() {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(3);
+		assertEquals(4, buffer.getCapacity());
+		for(int i = 0; i < 6; i++) {
+			buffer.add(i);
+		}
+		assertEquals(6, buffer.getSequence());
+		assertEquals("[2, 3, 4, 5]", buffer.snapshot().toString());
+		buffer.clear();
+		buffer.add(6);
+		assertEquals("[6]", buffer.snapshot().toString());
+	}
+
+	@Test
+	public void drainTest() {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(4);
+		List<Integer> drained = new ArrayList<Integer>();
+		buffer.add(0);
+		buffer.add(1);
+		long sequence = buffer.drainTo(0, drained);
+		assertEquals(2, sequence);
+		for(int i = 2; i < 8; i++) {
+			buffer.add(i);
+		}
+		sequence = buffer.drainTo(sequence, drained);
+		assertEquals(8, sequence);
+		assertEquals("[0, 1, 4, 5, 6, 7]", drained.toString());
+	}
+
+	@Test
+	public void concurrentWritersTest() throws InterruptedException {
+		final int writers = 4;
+		final int values = 200000;
+		final RingBuffer<Integer> buffer = new RingBuffer<Integer>(1024);
+		Thread[] threads = new Thread[writers];
+		for(int w = 0; w < writers; w++) {
+			final int writer = w;
+			threads[w] = new Thread(new Runnable() {
+				public void run() {
+					for(int i = 0; i < values; i++) {
+						buffer.add(writer * values + i);
+					}
+				}
+			});
+			threads[w].start();
+		}
+
+		List<Integer> batch = new ArrayList<Integer>();
+		int[] last = new int[writers];
+		long sequence = 0;
+		long drained = 0;
+		boolean running = true;
+		while(running || sequence < buffer.getSequence()) {
+			running = false;
+			for(Thread thread : threads) {
+				running |= thread.isAlive();
+			}
+			sequence = buffer.drainTo(sequence, batch);
+			for(int value : batch) {
+				int writer = value / values;
+				//values of each writer are drained in order, and never twice
+				assertTrue(value + 1 > last[writer]);
+				last[writer] = value + 1;
+			}
+			drained += batch.size();
+			batch.clear();
+		}
+
+		assertEquals(writers * values, buffer.getSequence());
+		assertTrue(drained > 0 && drained <= writers * values);
+		for(int w = 0; w < writers; w++) {
+			threads[w].join();
+		}
+	}
+}
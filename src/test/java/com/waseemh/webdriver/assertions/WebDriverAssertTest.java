@@ -3,6 +3,7 @@ package com.waseemh.webdriver.assertions;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.AfterClass;
@@ -83,7 +84,67 @@ public class WebDriverAssertTest
 		list.add("elem3");
 		WebDriverAssert.assertListEquals(element, list);
 	}
-	
+
+	@Test
+	public void listStreamTest() {
+		WebElement element = driver.findElement(By.id("virtuallist"));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(0, 1000));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(0, 1000), 50, 500);
+	}
+
+	@Test(expected = AssertionError.class)
+	public void listStreamMismatchTest() {
+		WebElement element = driver.findElement(By.id("virtuallist"));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(1, 1000));
+	}
+
+	@Test(expected = AssertionError.class)
+	public void listStreamTooShortTest() {
+		WebElement element = driver.findElement(By.id("virtuallist"));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(0, 1001));
+	}
+
+	@Test
+	public void listStreamInfiniteScrollTest() {
+		driver.get(URL); //reload, starting with first batch of rows
+		WebElement element = driver.findElement(By.id("infinitelist"));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(0, 100), Integer.MAX_VALUE, 1000);
+	}
+
+	@Test(expected = AssertionError.class)
+	public void listStreamInfiniteScrollTooLongTest() {
+		driver.get(URL); //reload, starting with first batch of rows
+		WebElement element = driver.findElement(By.id("infinitelist"));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(0, 60), Integer.MAX_VALUE, 1000);
+	}
+
+	@Test(expected = AssertionError.class)
+	public void listStreamStalledTest() {
+		WebElement element = driver.findElement(By.id("stalledlist"));
+		WebDriverAssert.assertListStreamEquals(driver, element, ".row", "data-index", rows(0, 50));
+	}
+
+	/**
+	 * Lazily generate expected rows ("row from" .. "row to-1").
+	 */
+	private static Iterator<String> rows(final int from, final int to) {
+		return new Iterator<String>() {
+			int next = from;
+
+			public boolean hasNext() {
+				return next < to;
+			}
+
+			public String next() {
+				return "row " + next++;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
 	@Test
 	public void labelTest() {
 		WebDriverAssert.assertLabelPresent(driver, "f0");